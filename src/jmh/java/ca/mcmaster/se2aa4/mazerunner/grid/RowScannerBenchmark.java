@@ -0,0 +1,62 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.simd.VectorRowScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the scalar and vector row scanners on random maze rows, run with
+ * mvn -Psimd test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class RowScannerBenchmark {
+
+    @Param({ "64", "1024", "16384" })
+    private int cols;
+
+    private String line;
+    private long[] masks;
+    private final RowScanner scalar = new ScalarRowScanner();
+    private final RowScanner vector = new VectorRowScanner();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(35);
+        StringBuilder builder = new StringBuilder(cols);
+        for (int x = 0; x < cols; x++) {
+            builder.append(random.nextInt(3) == 0 ? ' ' : '#');
+        }
+        line = builder.toString();
+        masks = new long[(cols + 63) >> 6];
+    }
+
+    @Benchmark
+    public void scalar(Blackhole blackhole) {
+        scalar.wallMasks(line, cols, masks);
+        blackhole.consume(masks);
+    }
+
+    @Benchmark
+    public void vector(Blackhole blackhole) {
+        vector.wallMasks(line, cols, masks);
+        blackhole.consume(masks);
+    }
+}
@@ -0,0 +1,138 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.PreprocessEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// validates many paths against one maze, following the rules of Explorer.solveMazeFromInput
+public class BatchValidator {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final int cols;
+    private final int startCell;
+    private final int endCell;
+    // cell index offset of one step in each direction: 0=right, 1=down, 2=left, 3=up
+    private final int[] step;
+    // transition table: bit d of a cell is set when moving in direction d from it stays on a passage
+    private final byte[] openDirections;
+
+    public BatchValidator(Maze maze) {
+        int rows = maze.getRows();
+        this.cols = maze.getCols();
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze is too large for batch validation: " + rows + "x" + cols);
+        }
+        this.step = new int[] { 1, cols, -1, -cols };
+        this.openDirections = new byte[rows * cols];
+
+        int[] start = maze.getLeftOpening();
+        int[] end = maze.getRightOpening();
+        this.startCell = start == null ? -1 : start[1] * cols + start[0];
+        this.endCell = end == null ? -1 : end[1] * cols + end[0];
+
+        // the table is built once, rows in parallel, and shared by every replay
+        PreprocessEvent event = JfrSupport.isRecording() ? new PreprocessEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        IntStream.range(0, rows).parallel().forEach(y -> {
+            for (int x = 0; x < cols; x++) {
+                int open = 0;
+                if (x + 1 < cols && !maze.isWall(x + 1, y)) {
+                    open |= 1;
+                }
+                if (y + 1 < rows && !maze.isWall(x, y + 1)) {
+                    open |= 2;
+                }
+                if (x > 0 && !maze.isWall(x - 1, y)) {
+                    open |= 4;
+                }
+                if (y > 0 && !maze.isWall(x, y - 1)) {
+                    open |= 8;
+                }
+                openDirections[y * cols + x] = (byte) open;
+            }
+        });
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "transition table";
+                event.rows = rows;
+                event.cols = cols;
+                event.commit();
+            }
+        }
+        logger.info("Transition table built for {} cells", openDirections.length);
+    }
+
+    // validates every path on all cores, results come back in the order of the paths
+    public List<ValidationResult> validateAll(List<String> paths) {
+        logger.info("Validating {} paths", paths.size());
+        return IntStream.range(0, paths.size()).parallel().mapToObj(i -> validate(paths.get(i))).toList();
+    }
+
+    // validates one path given in canonical or factorized form
+    public ValidationResult validate(String path) {
+        if (path == null) {
+            return new ValidationResult(false, position(startCell));
+        }
+        return replay(Path.convertFormat(path));
+    }
+
+    // replays canonical instructions from the entry, facing right
+    ValidationResult replay(CharSequence instructions) {
+        if (startCell < 0 || endCell < 0 || instructions.length() == 0) {
+            return new ValidationResult(false, position(startCell));
+        }
+
+        int cell = startCell;
+        int direction = 0;
+        int length = instructions.length();
+        for (int i = 0; i < length; i++) {
+            char instruction = instructions.charAt(i);
+            if (instruction == 'F') {
+                if ((openDirections[cell] & (1 << direction)) == 0) {
+                    break; // hit a wall or the border
+                }
+                cell += step[direction];
+            } else if (instruction == 'R') {
+                direction = (direction + 1) & 3;
+            } else if (instruction == 'L') {
+                direction = (direction + 3) & 3;
+            } else {
+                return new ValidationResult(false, position(cell));
+            }
+
+            if (cell == endCell) {
+                // only valid when the exit is reached on the very last instruction
+                return new ValidationResult(i == length - 1, position(cell));
+            }
+        }
+        return new ValidationResult(false, position(cell));
+    }
+
+    // converts a cell index back to (x, y)
+    int[] position(int cell) {
+        return cell < 0 ? null : new int[] { cell % cols, cell / cols };
+    }
+
+    int getStartCell() {
+        return startCell;
+    }
+
+    int getEndCell() {
+        return endCell;
+    }
+
+    // true when moving in the direction from the cell stays on a passage
+    boolean canMove(int cell, int direction) {
+        return (openDirections[cell] & (1 << direction)) != 0;
+    }
+
+    int step(int direction) {
+        return step[direction];
+    }
+}
@@ -0,0 +1,193 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.PackedGrid;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// reads and writes the compact binary maze format
+//
+// layout (big-endian):
+//   0  magic "MAZB"
+//   4  version (1 byte), flags (1 byte, bit 0 = checksum present), 2 reserved bytes
+//   8  rows, cols, left opening row, right opening row (ints, -1 when missing)
+//   24 payload: rows of ceil(cols / 8) bytes, bit x of a row set for walls
+//   end CRC32 of the payload (int) when the checksum flag is set
+public class BinaryMazeFormat {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final byte[] MAGIC = { 'M', 'A', 'Z', 'B' };
+    private static final byte VERSION = 1;
+    private static final byte FLAG_CHECKSUM = 1;
+    static final int HEADER_SIZE = 24;
+
+    private final PackedGrid grid;
+    private final int leftOpeningRow;
+    private final int rightOpeningRow;
+
+    private BinaryMazeFormat(PackedGrid grid, int leftOpeningRow, int rightOpeningRow) {
+        this.grid = grid;
+        this.leftOpeningRow = leftOpeningRow;
+        this.rightOpeningRow = rightOpeningRow;
+    }
+
+    // checks the first bytes of a file (after decompression) for the binary maze magic
+    public static boolean isBinaryMaze(String filePath) {
+        try (InputStream input = MazeInput.open(filePath)) {
+            return hasMagic(input.readNBytes(MAGIC.length));
+        } catch (IOException e) {
+            return false; // let the text loader report the missing file
+        }
+    }
+
+    static boolean hasMagic(byte[] start) {
+        if (start.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (start[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // maps a binary maze file, the payload becomes the grid storage without copying
+    public static BinaryMazeFormat map(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                // a single mapping cannot go past 2 GB, the grid is indexed by int
+                throw new IOException("Binary maze " + filePath + " is " + channel.size()
+                        + " bytes, larger than the 2 GB that can be mapped");
+            }
+            // read-only mapping: the grid copies the payload to the heap on its first edit
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(buffer, filePath);
+        }
+    }
+
+    // reads a binary maze from a stream, the payload is read straight into the grid buffer
+    public static BinaryMazeFormat read(InputStream input, String source) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        byte[] header = new byte[HEADER_SIZE];
+        data.readFully(header);
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        int rows = headerBuffer.getInt(8);
+        int cols = headerBuffer.getInt(12);
+        boolean hasChecksum = (header[5] & FLAG_CHECKSUM) != 0;
+        long size = HEADER_SIZE + (long) rows * PackedGrid.bytesPerRow(cols) + (hasChecksum ? 4 : 0);
+        if (rows < 0 || cols < 0 || size > Integer.MAX_VALUE) {
+            throw new IOException("Binary maze is too large to read from " + source);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.put(header);
+        data.readFully(buffer.array(), HEADER_SIZE, (int) size - HEADER_SIZE);
+        buffer.clear();
+        return parse(buffer, source);
+    }
+
+    // reads a binary maze held in a buffer positioned at the magic
+    static BinaryMazeFormat parse(ByteBuffer buffer, String source) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Binary maze header is truncated in " + source);
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!hasMagic(magic)) {
+            throw new IOException("Not a binary maze: " + source);
+        }
+        byte version = buffer.get();
+        byte flags = buffer.get();
+        buffer.getShort(); // reserved
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary maze version " + version + " in " + source);
+        }
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        int leftRow = buffer.getInt();
+        int rightRow = buffer.getInt();
+
+        long payloadSize = (long) rows * PackedGrid.bytesPerRow(cols);
+        boolean hasChecksum = (flags & FLAG_CHECKSUM) != 0;
+        if (rows < 0 || cols < 0 || payloadSize + (hasChecksum ? 4 : 0) > buffer.remaining()) {
+            throw new IOException("Binary maze payload is truncated in " + source);
+        }
+
+        ByteBuffer payload = buffer.slice(buffer.position(), (int) payloadSize);
+        if (hasChecksum) {
+            int expected = buffer.getInt(buffer.position() + (int) payloadSize);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expected) {
+                throw new IOException("Binary maze checksum mismatch in " + source);
+            }
+        }
+
+        logger.info("Binary maze {} read: {} rows, {} cols", source, rows, cols);
+        return new BinaryMazeFormat(new PackedGrid(payload, rows, cols), leftRow, rightRow);
+    }
+
+    // converts a loaded maze into the binary format
+    public static void write(Maze maze, String outputPath, boolean withChecksum) throws IOException {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int[] left = maze.getLeftOpening();
+        int[] right = maze.getRightOpening();
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(outputPath), 1 << 16))) {
+            output.write(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(withChecksum ? FLAG_CHECKSUM : 0);
+            output.writeShort(0);
+            output.writeInt(rows);
+            output.writeInt(cols);
+            output.writeInt(left == null ? -1 : left[1]);
+            output.writeInt(right == null ? -1 : right[1]);
+
+            CRC32 crc = new CRC32();
+            byte[] packedRow = new byte[PackedGrid.bytesPerRow(cols)];
+            for (int y = 0; y < rows; y++) {
+                Arrays.fill(packedRow, (byte) 0);
+                for (int x = 0; x < cols; x++) {
+                    if (maze.isWall(x, y)) {
+                        packedRow[x >> 3] |= (byte) (1 << (x & 7));
+                    }
+                }
+                output.write(packedRow);
+                crc.update(packedRow);
+            }
+            if (withChecksum) {
+                output.writeInt((int) crc.getValue());
+            }
+        }
+        logger.info("Binary maze written to {}", outputPath);
+    }
+
+    public PackedGrid getGrid() {
+        return grid;
+    }
+
+    public int getLeftOpeningRow() {
+        return leftOpeningRow;
+    }
+
+    public int getRightOpeningRow() {
+        return rightOpeningRow;
+    }
+}
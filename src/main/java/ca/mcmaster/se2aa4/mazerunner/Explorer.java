@@ -1,8 +1,18 @@
 package ca.mcmaster.se2aa4.mazerunner;
 
+import ca.mcmaster.se2aa4.mazerunner.grid.LazyGrid;
+import ca.mcmaster.se2aa4.mazerunner.jfr.ExplorationEvent;
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.search.ComponentLabels;
+import ca.mcmaster.se2aa4.mazerunner.search.DistanceOracle;
+import ca.mcmaster.se2aa4.mazerunner.strategy.CheckpointLog;
 import ca.mcmaster.se2aa4.mazerunner.strategy.ExplorationStrategy;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ExitUnreachableException;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ExplorationFailedException;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ExternalMemoryStrategy;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ResumableStrategy;
 import ca.mcmaster.se2aa4.mazerunner.strategy.RightHandStrategy;
-import ca.mcmaster.se2aa4.mazerunner.strategy.StrategyFactory;
+import ca.mcmaster.se2aa4.mazerunner.strategy.SolverContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
@@ -22,6 +32,14 @@ public class Explorer {
 
     // the exploration strategy to use
     private ExplorationStrategy strategy;
+    // landmark index for point-to-point queries, built on first use
+    private DistanceOracle oracle;
+    // false once the precheck found no path between the openings
+    private boolean exitReachable = true;
+    // why the last exploration ended without a path, null when it found one
+    private String failure;
+    // saves the moves while exploring so a killed run can be resumed, null when not wanted
+    private CheckpointLog checkpoint;
 
     public Explorer(Maze mazeMap) {
         this(mazeMap, "righthand"); // default to right-hand rule
@@ -34,7 +52,18 @@ public class Explorer {
         this.end = mazeMap.getRightOpening();
         this.moves = new ArrayList<>();
         this.direction = 0;
-        this.strategy = StrategyFactory.createStrategy(strategyName);
+        // strategies are reused per thread along with their scratch space
+        this.strategy = SolverContext.current().getStrategy(strategyName);
+    }
+
+    public Explorer(Maze mazeMap, ExplorationStrategy strategy) {
+        this.maze = mazeMap;
+        this.currentPos = mazeMap.getLeftOpening();
+        this.start = currentPos;
+        this.end = mazeMap.getRightOpening();
+        this.moves = new ArrayList<>();
+        this.direction = 0;
+        this.strategy = strategy;
     }
 
     public void setStrategy(ExplorationStrategy strategy) {
@@ -42,7 +71,12 @@ public class Explorer {
     }
 
     public void setStrategy(String strategyName) {
-        this.strategy = StrategyFactory.createStrategy(strategyName);
+        this.strategy = SolverContext.current().getStrategy(strategyName);
+    }
+
+    // saves checkpoints to the log while exploring, and resumes from the moves it already holds
+    public void setCheckpoint(CheckpointLog checkpoint) {
+        this.checkpoint = checkpoint;
     }
 
     // explores the maze using the selected strategy
@@ -52,8 +86,66 @@ public class Explorer {
             return;
         }
 
+        // wall following never ends and Tremaux covers the whole component when the exit is cut off,
+        // lazy storage skips the check since it would read the whole file, and the external search
+        // since the labels would not fit in its memory cap (it finds out on its own); the maze
+        // itself declines when the labels would be out of proportion to its grid
+        boolean precheck = !(maze.getGridStore() instanceof LazyGrid) && !(strategy instanceof ExternalMemoryStrategy);
+        ComponentLabels labels = precheck ? maze.getComponentLabels() : null;
+        if (precheck && labels == null) {
+            logger.info("Maze too large to label its components, exploring without checking the exit");
+        }
+        if (labels != null && !labels.isConnected(start, end)) {
+            logger.error("The exit is not reachable from the entrance, not exploring");
+            this.exitReachable = false;
+            this.failure = "the exit is not reachable from the entrance";
+            this.moves = new ArrayList<>();
+            return;
+        }
+        this.exitReachable = true;
+        this.failure = null;
+
         logger.info("Starting exploration at position: ({}, {})", currentPos[0], currentPos[1]);
-        this.moves = strategy.explore(maze, start, end);
+        ExplorationEvent event = JfrSupport.isRecording() ? new ExplorationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        if (checkpoint != null && !(strategy instanceof ResumableStrategy)) {
+            logger.warn("Strategy {} cannot save checkpoints, exploring without", strategy.getName());
+        }
+        List<String> found;
+        try {
+            if (checkpoint != null && strategy instanceof ResumableStrategy resumable) {
+                // the strategy instance is shared by the thread, only lend it the log for this run
+                resumable.setCheckpoint(checkpoint);
+                try {
+                    found = resumable.explore(maze, start, end);
+                } finally {
+                    resumable.setCheckpoint(null);
+                }
+                checkpoint.finish();
+            } else {
+                found = strategy.explore(maze, start, end);
+            }
+        } catch (ExplorationFailedException e) {
+            // strategies that skip the precheck find out on their own
+            logger.error("Exploration failed: {}", e.getMessage());
+            this.exitReachable = !(e instanceof ExitUnreachableException);
+            this.failure = e.getMessage();
+            found = new ArrayList<>();
+        }
+        this.moves = found; // strategies hand over a new list
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.strategy = strategy.getName();
+                event.rows = maze.getRows();
+                event.cols = maze.getCols();
+                event.moves = moves.size();
+                event.cellsEntered = (int) moves.stream().filter("F"::equals).count();
+                event.commit();
+            }
+        }
         logger.info("Exploration completed with {} moves", moves.size());
     }
 
@@ -63,6 +155,18 @@ public class Explorer {
         exploreMaze();
     }
 
+    // finds a shortest path between any two cells, starting facing right, null if unreachable
+    public List<String> findPath(int[] from, int[] to) {
+        if (oracle == null) {
+            oracle = new DistanceOracle(maze);
+        }
+        List<String> path = oracle.findPath(from, to);
+        if (path == null) {
+            logger.info("No path from ({}, {}) to ({}, {})", from[0], from[1], to[0], to[1]);
+        }
+        return path;
+    }
+
     // validates and executes a sequence of moves from input
     public boolean solveMazeFromInput(String input) {
         int stepsTaken = 0; // tracks number of instructions executed
@@ -160,6 +264,25 @@ public class Explorer {
         return inBoundary && isPath;
     }
 
+    // false when the last exploration was skipped because the exit cannot be reached
+    public boolean isExitReachable() {
+        return exitReachable;
+    }
+
+    // true when the last exploration found a path to the exit
+    public boolean isSolved() {
+        return failure == null;
+    }
+
+    // why the last exploration found no path, null when it found one
+    public String getFailure() {
+        return failure;
+    }
+
+    public ExplorationStrategy getStrategy() {
+        return strategy;
+    }
+
     public int[] getCurrentPosition() {
         return currentPos;
     }
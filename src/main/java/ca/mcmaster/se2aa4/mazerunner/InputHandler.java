@@ -21,7 +21,17 @@ public class InputHandler {
         cliOpts = new Options();
         cliOpts.addOption("i", "input", true, "Path to the maze input file");
         cliOpts.addOption("p", "path", true, "Solve maze based on inputted path");
-        cliOpts.addOption("method", true, "Specify algorithm to use (righthand, tremaux)");
+        cliOpts.addOption("method", true, "Specify algorithm to use (righthand, tremaux, race, race-best, auto, external)");
+        cliOpts.addOption("storage", true, "Specify maze storage to use (dense, tiled, packed, offheap, lazy)");
+        cliOpts.addOption("convert", true, "Write the maze in the binary format to the given file");
+        cliOpts.addOption("paths", true, "Validate every path of the given file (one per line) against the maze");
+        cliOpts.addOption("pipeline", false, "Solve mazes separated by marker lines from standard input");
+        cliOpts.addOption("separator", true, "Line separating mazes in pipeline mode (default ---)");
+        cliOpts.addOption("optimize", false, "Remove loops and redundant turns from the computed path");
+        cliOpts.addOption("multi", false, "Find the shortest path between any entrance and any exit");
+        cliOpts.addOption("render", true, "Draw the maze and the computed path to the given PNG or PPM file");
+        cliOpts.addOption("checkpoint", true, "Save the exploration to the given file and resume from it on the next run");
+        cliOpts.addOption("heatmap", false, "Colour rendered passages by how often the tremaux method visited them");
     }
 
     // singleton getInstance method
@@ -71,6 +81,71 @@ public class InputHandler {
         }
     }
 
+    public String getStorage() {
+        if (cmdArgs != null && cmdArgs.hasOption("storage")) {
+            return cmdArgs.getOptionValue("storage");
+        } else {
+            logger.info("No storage specified, using default");
+            return "dense";
+        }
+    }
+
+    public String getConvertPath() {
+        if (cmdArgs != null && cmdArgs.hasOption("convert")) {
+            return cmdArgs.getOptionValue("convert");
+        } else {
+            return null;
+        }
+    }
+
+    public String getPathsFile() {
+        if (cmdArgs != null && cmdArgs.hasOption("paths")) {
+            return cmdArgs.getOptionValue("paths");
+        } else {
+            return null;
+        }
+    }
+
+    public boolean isPipelineMode() {
+        return cmdArgs != null && cmdArgs.hasOption("pipeline");
+    }
+
+    public String getSeparator() {
+        if (cmdArgs != null && cmdArgs.hasOption("separator")) {
+            return cmdArgs.getOptionValue("separator");
+        } else {
+            return MazePipeline.DEFAULT_SEPARATOR;
+        }
+    }
+
+    public boolean isOptimize() {
+        return cmdArgs != null && cmdArgs.hasOption("optimize");
+    }
+
+    public boolean isMultiOpening() {
+        return cmdArgs != null && cmdArgs.hasOption("multi");
+    }
+
+    public String getRenderPath() {
+        if (cmdArgs != null && cmdArgs.hasOption("render")) {
+            return cmdArgs.getOptionValue("render");
+        } else {
+            return null;
+        }
+    }
+
+    public String getCheckpointPath() {
+        if (cmdArgs != null && cmdArgs.hasOption("checkpoint")) {
+            return cmdArgs.getOptionValue("checkpoint");
+        } else {
+            return null;
+        }
+    }
+
+    public boolean isHeatmap() {
+        return cmdArgs != null && cmdArgs.hasOption("heatmap");
+    }
+
     // for testing purposes only - resets the singleton instance
     public static void reset() {
         instance = null;
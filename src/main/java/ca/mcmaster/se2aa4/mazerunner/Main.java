@@ -1,7 +1,14 @@
 package ca.mcmaster.se2aa4.mazerunner;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import ca.mcmaster.se2aa4.mazerunner.render.MazeRenderer;
+import ca.mcmaster.se2aa4.mazerunner.search.MultiSourceSolver;
+import ca.mcmaster.se2aa4.mazerunner.strategy.CheckpointLog;
+import ca.mcmaster.se2aa4.mazerunner.strategy.TremauxStrategy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -11,7 +18,6 @@ public class Main {
 
     public static void main(String[] args) {
         logger.info("** Starting Maze Runner");
-        System.out.println("Starting Maze Runner");
 
         // use the Singleton instance of InputHandler
         InputHandler inputHandler = InputHandler.getInstance();
@@ -21,16 +27,50 @@ public class Main {
             return;
         }
 
+        if (inputHandler.isPipelineMode()) {
+            // standard output only carries the paths in pipeline mode
+            try {
+                new MazePipeline(System.in, System.out, inputHandler.getMethod(), inputHandler.getSeparator()).run();
+            } catch (IllegalArgumentException | IOException e) {
+                logger.error("/!\\ An error has occurred /!\\ Error:{}", e.getMessage());
+            }
+            return;
+        }
+        System.out.println("Starting Maze Runner");
+
         String inputFilePath = inputHandler.getInputFilePath();
         String inputPath = inputHandler.getMazePath();
         String method = inputHandler.getMethod();
+        String storage = inputHandler.getStorage();
 
         if (inputFilePath == null) {
             logger.error("Failed to read File Path.");
             return;
         }
 
-        Maze maze = new Maze(inputFilePath);
+        Maze maze = new Maze(inputFilePath, storage);
+
+        String convertPath = inputHandler.getConvertPath();
+        if (convertPath != null) {
+            try {
+                maze.writeBinary(convertPath);
+                System.out.println("Binary maze written to: " + convertPath);
+            } catch (IOException e) {
+                logger.error("Failed to write binary maze to {}. Error: {}", convertPath, e.getMessage());
+            }
+            return;
+        }
+
+        String pathsFile = inputHandler.getPathsFile();
+        if (pathsFile != null) {
+            validatePaths(maze, pathsFile);
+            return;
+        }
+
+        if (inputHandler.isMultiOpening()) {
+            solveBetweenOpenings(maze);
+            return;
+        }
 
         // create explorer with the specified strategy
         Explorer explorer = new Explorer(maze, method);
@@ -57,22 +97,128 @@ public class Main {
 
         try {
             System.out.println("Starting maze at: " + Arrays.toString(maze.getLeftOpening()));
-            System.out.println("Starting " + (method.equals("tremaux") ? "Tremaux algorithm" : "right hand rule"));
+            System.out.println("Starting " + describeMethod(method));
             logger.info("**** Computing path");
 
+            String checkpointPath = inputHandler.getCheckpointPath();
+            CheckpointLog checkpoint = null;
+            if (checkpointPath != null) {
+                checkpoint = CheckpointLog.open(checkpointPath, maze, maze.getLeftOpening(),
+                        explorer.getStrategy().getName(), CheckpointLog.DEFAULT_INTERVAL);
+                if (!checkpoint.getResumedMoves().isEmpty()) {
+                    System.out.println("Resuming from checkpoint after " + checkpoint.getResumedMoves().size() + " moves");
+                }
+                explorer.setCheckpoint(checkpoint);
+            }
+
             // use the exploreMaze method that uses the strategy
-            explorer.exploreMaze();
+            try {
+                explorer.exploreMaze();
+            } finally {
+                if (checkpoint != null) {
+                    checkpoint.close();
+                }
+            }
+            if (!explorer.isExitReachable()) {
+                System.out.println("Maze cannot be solved: the exit is not reachable from the entrance.");
+                return;
+            }
+            if (!explorer.isSolved()) {
+                System.out.println("Maze could not be solved: " + explorer.getFailure() + ".");
+                return;
+            }
             List<String> moves = explorer.getPathSteps();
+            if (inputHandler.isOptimize()) {
+                moves = new PathOptimizer(maze).optimize(moves);
+            }
             Path path = new Path(moves);
 
             System.out.println("Maze solved!");
             System.out.println("Final canonical path: " + path.getFormattedPath());
             System.out.println("Final factorized path: " + path.getFactorizedPath());
 
+            String renderPath = inputHandler.getRenderPath();
+            if (renderPath != null) {
+                renderMaze(maze, explorer, moves, renderPath, inputHandler.isHeatmap());
+            }
+
         } catch (Exception e) {
             logger.error("/!\\ An error has occurred /!\\ Error:{}", e.getMessage());
         }
 
         logger.info("** End of MazeRunner");
     }
+
+    // solves from the closest entrance to the closest exit among all openings
+    private static void solveBetweenOpenings(Maze maze) {
+        System.out.println("Entrances: " + maze.getLeftOpenings().size() + ", exits: " + maze.getRightOpenings().size());
+        MultiSourceSolver.Result result = new MultiSourceSolver(maze).solve();
+        if (result == null) {
+            System.out.println("Maze cannot be solved: no exit is reachable from any entrance.");
+            return;
+        }
+        Path path = new Path(result.getMoves());
+        System.out.println("Best entrance: " + Arrays.toString(result.getEntrance()));
+        System.out.println("Best exit: " + Arrays.toString(result.getExit()));
+        System.out.println("Final canonical path: " + path.getFormattedPath());
+        System.out.println("Final factorized path: " + path.getFactorizedPath());
+    }
+
+    // draws the maze with the path, and the visit counts when the explorer used tremaux
+    private static void renderMaze(Maze maze, Explorer explorer, List<String> moves, String renderPath, boolean heatmap) {
+        MazeRenderer renderer = new MazeRenderer(maze);
+        renderer.setPath(maze.getLeftOpening(), moves);
+        if (heatmap) {
+            if (explorer.getStrategy() instanceof TremauxStrategy tremaux) {
+                renderer.setHeatmap(tremaux::getVisits, tremaux.getMaxVisits());
+            } else {
+                logger.warn("Visit counts are only kept by the tremaux method, rendering without heatmap");
+            }
+        }
+        try {
+            renderer.render(renderPath);
+            System.out.println("Maze rendered to: " + renderPath);
+        } catch (IOException e) {
+            logger.error("Failed to render maze to {}. Error: {}", renderPath, e.getMessage());
+        }
+    }
+
+    // names the method for the progress output
+    private static String describeMethod(String method) {
+        switch (method) {
+            case "tremaux":
+                return "Tremaux algorithm";
+            case "race":
+            case "race-best":
+                return "strategy race";
+            case "auto":
+                return "automatic strategy selection";
+            case "external":
+                return "external memory search";
+            default:
+                return "right hand rule";
+        }
+    }
+
+    // checks every path of a file (one per line) against the maze
+    private static void validatePaths(Maze maze, String pathsFile) {
+        List<String> paths;
+        try {
+            paths = Files.readAllLines(Paths.get(pathsFile));
+        } catch (IOException e) {
+            logger.error("Failed to read paths from file: {}. Error: {}", pathsFile, e.getMessage());
+            return;
+        }
+
+        List<ValidationResult> results = new BatchValidator(maze).validateAll(paths);
+        for (int i = 0; i < results.size(); i++) {
+            ValidationResult result = results.get(i);
+            if (result.isValid()) {
+                System.out.println("Path " + (i + 1) + ": correct path");
+            } else {
+                System.out.println("Path " + (i + 1) + ": incorrect path, stopped at: "
+                        + Arrays.toString(result.getStopPosition()));
+            }
+        }
+    }
 }
@@ -1,44 +1,132 @@
 package ca.mcmaster.se2aa4.mazerunner;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import ca.mcmaster.se2aa4.mazerunner.grid.LazyGrid;
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.MazeLoadEvent;
+import ca.mcmaster.se2aa4.mazerunner.search.ComponentLabels;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 // represents the maze structure and handles maze file loading
-public class Maze {
-    // maze structure as a 2D char array
-    private char[][] grid;
+public class Maze implements AutoCloseable {
+    // maze structure, stored densely or in tiles depending on the storage chosen
+    private GridStore grid;
     private int rows;
     private int cols;
 
     // coordinates for maze entrance and exit
     private int[] leftOpening;
     private int[] rightOpening;
+    // every open cell of the left and right borders, found on first use
+    private List<int[]> leftOpenings;
+    private List<int[]> rightOpenings;
+    // passage components, built on first use and dropped when the grid changes
+    private ComponentLabels componentLabels;
+    // the array of the labels dropped last, filled again by the next labelling
+    private int[] spareLabels;
+
+    // labels below this many cells are always cheap enough (4 MB)
+    private static final long LABEL_FREE_CELLS = 1L << 20;
+    // above it, the labels may take at most this many times the memory of the grid itself
+    private static final int LABEL_MAX_RATIO = 4;
 
     private static final Logger logger = LogManager.getLogger();
 
     public Maze(String filePath) {
+        this(filePath, "dense"); // default to dense char storage
+    }
+
+    public Maze(String filePath, String storageName) {
+        MazeLoadEvent event = JfrSupport.isRecording() ? new MazeLoadEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        boolean binary = false;
         try {
-            loadMaze(filePath);
-            getOpenings();
+            binary = BinaryMazeFormat.isBinaryMaze(filePath);
+            if (binary) {
+                if (!"packed".equalsIgnoreCase(storageName)) {
+                    logger.info("Binary mazes are always stored packed, ignoring storage {}", storageName);
+                }
+                loadBinaryMaze(filePath);
+            } else {
+                loadMaze(filePath, storageName);
+                getOpenings();
+            }
         } catch (IOException e) {
             logger.error("Failed to load the maze from file: {}. Error: {}", filePath, e.getMessage());
         }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = filePath;
+                event.storage = grid == null ? null : grid.getName();
+                event.binary = binary;
+                event.rows = rows;
+                event.cols = cols;
+                event.commit();
+            }
+        }
+    }
+
+    public Maze(GridStore grid) {
+        reload(grid);
+    }
+
+    // switches to an already filled grid (e.g. a reused buffer) and finds its openings
+    // labels handed out before are rebuilt in place by the next labelling, so callers do not keep them
+    public synchronized void reload(GridStore grid) {
+        this.grid = grid;
+        dropComponentLabels();
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        getOpenings();
     }
 
     // loads and validates maze from file
-    private void loadMaze(String filePath) throws IOException {
+    private void loadMaze(String filePath, String storageName) throws IOException {
         logger.info("Loading Maze");
+        if ("lazy".equalsIgnoreCase(storageName)) {
+            if (!MazeInput.isCompressed(filePath)) {
+                // only the line offsets are read now, rows are decoded when first touched
+                grid = LazyGrid.open(filePath, LazyGrid.DEFAULT_CACHE_ROWS);
+                rows = grid.getRows();
+                cols = grid.getCols();
+                logger.info("Maze indexed for lazy loading ({} rows, {} cols)", rows, cols);
+                return;
+            }
+            logger.warn("Compressed mazes cannot be read lazily, defaulting to packed grid");
+            storageName = "packed";
+        }
+        if (ParallelMazeLoader.shouldUse(filePath)) {
+            // large uncompressed files are split into line-aligned chunks read on all cores
+            ParallelMazeLoader loader = new ParallelMazeLoader(filePath);
+            grid = loader.load(storageName);
+            rows = loader.getRows();
+            cols = loader.getCols();
+            return;
+        }
+
         BufferedReader reader = null;
+        int narrowest = Integer.MAX_VALUE;
         try {
-            reader = new BufferedReader(new FileReader(filePath));
+            reader = new BufferedReader(new InputStreamReader(MazeInput.open(filePath)));
             String line;
             rows = 0;
-            // first pass: get the grid dimensions
+            cols = 0;
+            // first pass: get the grid dimensions (compressed files are decoded again on the
+            // second pass rather than kept in memory)
             while ((line = reader.readLine()) != null) {
-                cols = line.length(); // use first line to determine width
+                cols = Math.max(cols, line.length()); // the widest line determines the width
+                narrowest = Math.min(narrowest, line.length());
                 rows++; // count total lines for height
             }
         } catch (IOException e) {
@@ -46,15 +134,19 @@ public class Maze {
             throw e;
         }
         reader.close();
+        if (rows > 0 && narrowest < cols) {
+            logger.warn("Rows of {} have widths from {} to {}, shorter rows are padded with passages",
+                    filePath, narrowest, cols);
+        }
 
         // second pass: populate the grid
         try {
-            grid = new char[rows][cols];
-            reader = new BufferedReader(new FileReader(filePath));
+            grid = GridFactory.createGrid(storageName, rows, cols);
+            reader = new BufferedReader(new InputStreamReader(MazeInput.open(filePath)));
             String line;
             int row = 0;
             while ((line = reader.readLine()) != null) {
-                grid[row] = line.toCharArray(); // convert each line to char array for maze representation
+                grid.setRow(row, line); // hand each line to the grid storage
                 row++;
 
                 StringBuilder output = new StringBuilder();
@@ -72,15 +164,69 @@ public class Maze {
             throw e;
         }
         reader.close();
+        logger.info("Maze loaded into {} storage ({} rows, {} cols)", grid.getName(), rows, cols);
+    }
+
+    // maps a binary maze file, the header already holds the size and openings
+    private void loadBinaryMaze(String filePath) throws IOException {
+        logger.info("Loading binary Maze");
+        BinaryMazeFormat binary;
+        if (MazeInput.isCompressed(filePath)) {
+            // compressed files cannot be mapped, stream the payload into the grid instead
+            try (InputStream input = MazeInput.open(filePath)) {
+                binary = BinaryMazeFormat.read(input, filePath);
+            }
+        } else {
+            binary = BinaryMazeFormat.map(filePath);
+        }
+        grid = binary.getGrid();
+        rows = grid.getRows();
+        cols = grid.getCols();
+
+        // the header is not covered by the checksum, a row outside the maze or on a wall would
+        // send the strategies out of bounds or around forever, so find the openings again
+        if (!isOpeningRow(0, binary.getLeftOpeningRow()) || !isOpeningRow(cols - 1, binary.getRightOpeningRow())) {
+            logger.warn("Binary maze header lists openings at rows {} and {} that are not open, searching the borders",
+                    binary.getLeftOpeningRow(), binary.getRightOpeningRow());
+            getOpenings();
+            return;
+        }
+        if (binary.getLeftOpeningRow() >= 0) {
+            leftOpening = new int[] { 0, binary.getLeftOpeningRow() };
+        } else {
+            logger.error("Error reading start point");
+        }
+        if (binary.getRightOpeningRow() >= 0) {
+            rightOpening = new int[] { (cols - 1), binary.getRightOpeningRow() };
+        } else {
+            logger.error("Error reading end point");
+        }
+    }
+
+    // true for -1 (no opening) or a passage of the border column in range
+    private boolean isOpeningRow(int x, int row) {
+        if (row == -1) {
+            return true;
+        }
+        return row >= 0 && row < rows && cols > 0 && !grid.isWall(x, row);
+    }
+
+    // writes the maze in the compact binary format
+    public void writeBinary(String outputPath) throws IOException {
+        BinaryMazeFormat.write(this, outputPath, true);
     }
 
     // identifies entrance and exit points on maze borders
     public void getOpenings() {
+        this.leftOpening = null;
+        this.rightOpening = null;
+        this.leftOpenings = null;
+        this.rightOpenings = null;
         for (int row = 0; row < rows; row++) {
-            if (grid[row][0] == ' ') {
+            if (grid.getCell(0, row) == ' ') {
                 this.leftOpening = new int[] { 0, row };
             }
-            if (grid[row][cols - 1] != '#') {
+            if (!grid.isWall(cols - 1, row)) {
                 this.rightOpening = new int[] { (cols - 1), row };
             }
         }
@@ -91,12 +237,105 @@ public class Maze {
         if (this.rightOpening == null) {
             logger.error("Error reading end point");
         }
-        logger.info("Maze start ({}, {}) end ({}, {}) points read successfully", leftOpening[0], leftOpening[1],
-                rightOpening[0], rightOpening[1]);
+        if (this.leftOpening != null && this.rightOpening != null) {
+            logger.info("Maze start ({}, {}) end ({}, {}) points read successfully", leftOpening[0], leftOpening[1],
+                    rightOpening[0], rightOpening[1]);
+        }
+    }
+
+    // all openings on the left border, top to bottom (getLeftOpening only keeps the last one)
+    public List<int[]> getLeftOpenings() {
+        if (leftOpenings == null) {
+            leftOpenings = findOpenings(0);
+        }
+        return leftOpenings;
+    }
+
+    // all openings on the right border, top to bottom
+    public List<int[]> getRightOpenings() {
+        if (rightOpenings == null) {
+            rightOpenings = findOpenings(cols - 1);
+        }
+        return rightOpenings;
+    }
+
+    private List<int[]> findOpenings(int x) {
+        List<int[]> openings = new ArrayList<>();
+        if (x < 0) {
+            return openings;
+        }
+        for (int row = 0; row < rows; row++) {
+            if (!grid.isWall(x, row)) {
+                openings.add(new int[] { x, row });
+            }
+        }
+        return openings;
+    }
+
+    // hashes the size and the walls (FNV-1a over 64-cell words), the same maze gives the same
+    // hash whatever its storage or file format
+    public long contentHash() {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ rows) * 0x100000001b3L;
+        hash = (hash ^ cols) * 0x100000001b3L;
+        for (int y = 0; y < rows; y++) {
+            for (int start = 0; start < cols; start += 64) {
+                long word = 0;
+                for (int x = start; x < Math.min(cols, start + 64); x++) {
+                    if (grid.isWall(x, y)) {
+                        word |= 1L << (x - start);
+                    }
+                }
+                hash = (hash ^ word) * 0x100000001b3L;
+            }
+        }
+        return hash;
     }
 
     public char getGridAt(int x, int y) {
-        return grid[y][x];
+        return grid.getCell(x, y);
+    }
+
+    public boolean isWall(int x, int y) {
+        return grid.isWall(x, y);
+    }
+
+    // edits one cell in place, the entrance and exit found at load time are kept
+    public synchronized void setWall(int x, int y, boolean wall) {
+        grid.setWall(x, y, wall);
+        componentLabels = null;
+        if (x == 0 || x == cols - 1) {
+            // border edits change the openings, list them again on next use
+            leftOpenings = null;
+            rightOpenings = null;
+        }
+    }
+
+    // gets the passage components, or null when labelling would not pay off: the labels take an int
+    // per cell, out of proportion to packed, tiled or off-heap grids of huge mazes (and cannot index
+    // more than 2^31 cells)
+    public synchronized ComponentLabels getComponentLabels() {
+        if (componentLabels == null && canLabelComponents()) {
+            componentLabels = new ComponentLabels(this, spareLabels);
+            spareLabels = null;
+        }
+        return componentLabels;
+    }
+
+    private void dropComponentLabels() {
+        if (componentLabels != null) {
+            spareLabels = componentLabels.getStorage();
+            componentLabels = null;
+        }
+    }
+
+    public boolean canLabelComponents() {
+        long cells = (long) rows * cols;
+        if (grid == null || cells > Integer.MAX_VALUE) {
+            return false;
+        }
+        return cells <= LABEL_FREE_CELLS
+                || cells * ComponentLabels.BYTES_PER_CELL <= LABEL_MAX_RATIO * grid.getFootprintBytes();
     }
 
     public int[] getLeftOpening() {
@@ -108,6 +347,10 @@ public class Maze {
     }
 
     public char[][] getGrid() {
+        return grid.toCharArray();
+    }
+
+    public GridStore getGridStore() {
         return grid;
     }
 
@@ -118,4 +361,12 @@ public class Maze {
     public int getCols() {
         return cols;
     }
+
+    // releases the grid storage, only off-heap storage holds memory that needs it
+    @Override
+    public void close() {
+        if (grid != null) { // no grid when the file failed to load
+            grid.close();
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+// opens maze files, decompressing gzip input on the fly
+public class MazeInput {
+
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private MazeInput() {
+    }
+
+    // opens a maze file as a stream of its (decompressed) content
+    public static InputStream open(String filePath) throws IOException {
+        InputStream input = new BufferedInputStream(new FileInputStream(filePath), BUFFER_SIZE);
+        try {
+            if (startsWithGzipMagic(input)) {
+                // decoded a buffer at a time, the decompressed file is never held in memory
+                return new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE);
+            }
+            return input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    // checks whether a maze file is gzip compressed
+    public static boolean isCompressed(String filePath) {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(filePath))) {
+            return startsWithGzipMagic(input);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // peeks at the first two bytes of a stream without consuming them
+    private static boolean startsWithGzipMagic(InputStream input) throws IOException {
+        input.mark(2);
+        int first = input.read();
+        int second = input.read();
+        input.reset();
+        return first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2;
+    }
+}
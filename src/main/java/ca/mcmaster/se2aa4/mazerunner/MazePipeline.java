@@ -0,0 +1,184 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.ByteGrid;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ExplorationStrategy;
+import ca.mcmaster.se2aa4.mazerunner.strategy.SolverContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// solves a stream of mazes separated by marker lines, writing one factorized path per maze; the
+// text, the grid and the component labels of the exit check are kept across mazes, while the
+// explorer, its moves and the factorized path are still allocated for each maze (in proportion
+// to the path rather than the grid)
+public class MazePipeline {
+    private static final Logger logger = LogManager.getLogger();
+
+    // blank lines are rows without walls, so mazes are separated by a line no maze row can be
+    public static final String DEFAULT_SEPARATOR = "---";
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final byte[] NO_PATH = "no path\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream input;
+    private final OutputStream output;
+    private final ExplorationStrategy strategy;
+    private final byte[] separator;
+
+    // buffers reused for every maze, they only grow when a bigger maze comes in (as do the labels
+    // the maze keeps for its exit check)
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    // lines of the maze being read back to back, lineEnds[y] is where row y stops
+    private byte[] lines = new byte[READ_BUFFER_SIZE];
+    private int[] lineEnds = new int[256];
+    // the rows padded to the widest one, as wrapped by the grid
+    private byte[] cells = new byte[READ_BUFFER_SIZE];
+    private final ByteGrid grid = new ByteGrid();
+    private Maze maze;
+
+    // state of the maze being read
+    private int rows;
+    private int cols;
+    private int length;
+    private int lineStart;
+    // true while the current line still matches the separator
+    private boolean onSeparator = true;
+
+    public MazePipeline(InputStream input, OutputStream output, String strategyName) {
+        this(input, output, strategyName, DEFAULT_SEPARATOR);
+    }
+
+    public MazePipeline(InputStream input, OutputStream output, String strategyName, String separator) {
+        if (separator == null || separator.isEmpty()) {
+            throw new IllegalArgumentException("The maze separator must not be empty, empty lines are maze rows");
+        }
+        this.input = input;
+        this.output = output;
+        this.strategy = SolverContext.current().getStrategy(strategyName);
+        this.separator = separator.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    // reads mazes until the end of the input, returns the number of mazes processed
+    public int run() throws IOException {
+        int solved = 0;
+        int read;
+        while ((read = input.read(readBuffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = readBuffer[i];
+                if (b == '\n') {
+                    if (endLine()) {
+                        solved++;
+                    }
+                } else if (b != '\r') {
+                    appendCell(b);
+                }
+            }
+        }
+
+        // the last maze does not need a trailing separator
+        if (length > lineStart) {
+            endLine();
+        }
+        if (rows > 0) {
+            solveCurrent();
+            solved++;
+        }
+        logger.info("Pipeline processed {} mazes", solved);
+        return solved;
+    }
+
+    // stores a cell of the current line
+    private void appendCell(byte b) throws IOException {
+        int column = length - lineStart;
+        if (column >= separator.length || separator[column] != b) {
+            onSeparator = false;
+        }
+        if (length == lines.length) {
+            if (length == grown(length)) {
+                throw new IOException("Maze text is too large for the pipeline: over " + length + " bytes");
+            }
+            lines = Arrays.copyOf(lines, grown(length));
+        }
+        lines[length++] = b;
+    }
+
+    // finishes a line, a separator line ends the current maze and returns true once it is solved
+    private boolean endLine() throws IOException {
+        int width = length - lineStart;
+        boolean separatorLine = onSeparator && width == separator.length;
+        onSeparator = true;
+        if (separatorLine) {
+            length = lineStart;
+            if (rows == 0) {
+                return false; // repeated separators
+            }
+            solveCurrent();
+            return true;
+        }
+
+        // empty and short lines are kept, they are padded with passages when the maze is solved
+        if (rows == lineEnds.length) {
+            lineEnds = Arrays.copyOf(lineEnds, rows * 2);
+        }
+        lineEnds[rows++] = length;
+        cols = Math.max(cols, width);
+        lineStart = length;
+        return false;
+    }
+
+    // doubles a buffer size, stopping at the largest array the JVM allocates
+    private static int grown(int size) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+    }
+
+    private void solveCurrent() throws IOException {
+        int cellCount;
+        try {
+            cellCount = Math.multiplyExact(rows, cols);
+        } catch (ArithmeticException e) {
+            throw new IOException("Maze is too large for the pipeline: " + rows + "x" + cols);
+        }
+        if (cellCount > cells.length) {
+            cells = new byte[Math.max(cellCount, grown(cells.length))];
+        }
+        int from = 0;
+        for (int y = 0; y < rows; y++) {
+            int width = lineEnds[y] - from;
+            System.arraycopy(lines, from, cells, y * cols, width);
+            Arrays.fill(cells, y * cols + width, (y + 1) * cols, (byte) ' ');
+            from = lineEnds[y];
+        }
+        grid.wrap(cells, rows, cols);
+        if (maze == null) {
+            maze = new Maze(grid);
+        } else {
+            maze.reload(grid);
+        }
+
+        if (maze.getLeftOpening() == null || maze.getRightOpening() == null) {
+            logger.error("Maze with {} rows has no entry or exit", rows);
+            output.write(NO_PATH);
+        } else {
+            Explorer explorer = new Explorer(maze, strategy);
+            explorer.exploreMaze();
+            if (explorer.isSolved()) {
+                List<String> moves = explorer.getPathSteps();
+                output.write(new Path(moves).getFactorizedPath().getBytes(StandardCharsets.US_ASCII));
+                output.write('\n');
+            } else {
+                output.write(NO_PATH);
+            }
+            SolverContext.current().trim(); // a huge maze in the stream does not pin its visit marks
+        }
+        output.flush(); // hand each answer downstream as soon as it is ready
+
+        rows = 0;
+        cols = 0;
+        length = 0;
+        lineStart = 0;
+    }
+}
@@ -1,5 +1,7 @@
 package ca.mcmaster.se2aa4.mazerunner;
 
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.ValidationEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -25,7 +27,21 @@ public class MazeValidator { // Class to validate the maze with the provided pat
         logger.info("Starting maze validation with path: {}", inputPath);
 
         // Use the path to attempt solving the maze
+        ValidationEvent event = JfrSupport.isRecording() ? new ValidationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         isValid = explorer.solveMazeFromInput(inputPath); // Solve the maze with the provided path
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.rows = maze.getRows();
+                event.cols = maze.getCols();
+                event.moves = inputPath.length();
+                event.valid = isValid;
+                event.commit();
+            }
+        }
 
         if (isValid) {
             logger.info("Maze successfully solved with the provided path.");
@@ -0,0 +1,205 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// loads a text maze on all cores: the file is cut into byte ranges aligned to line
+// starts, each range is measured and then decoded into its own rows of the grid
+public class ParallelMazeLoader {
+    private static final Logger logger = LogManager.getLogger();
+
+    // smaller files load faster on one thread
+    public static final long MIN_PARALLEL_SIZE = 1L << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String filePath;
+    private final int chunkCount;
+
+    private int rows;
+    private int cols;
+
+    public ParallelMazeLoader(String filePath) {
+        this(filePath, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ParallelMazeLoader(String filePath, int chunkCount) {
+        this.filePath = filePath;
+        this.chunkCount = Math.max(1, chunkCount);
+    }
+
+    // checks whether a file is big enough and uncompressed, so it can be split by byte ranges
+    public static boolean shouldUse(String filePath) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return channel.size() >= MIN_PARALLEL_SIZE && !MazeInput.isCompressed(filePath);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // reads the maze into a new grid of the given storage
+    public GridStore load(String storageName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] starts = new long[chunkCount + 1];
+            for (int i = 0; i < chunkCount; i++) {
+                starts[i] = alignToLineStart(channel, size * i / chunkCount, size);
+            }
+            starts[chunkCount] = size;
+
+            // first pass: rows and widths of every chunk
+            ChunkStats[] stats = new ChunkStats[chunkCount];
+            runChunks(i -> {
+                ChunkStats chunk = new ChunkStats();
+                scanChunk(channel, starts[i], starts[i + 1], (line, length) -> chunk.add(length));
+                stats[i] = chunk;
+            });
+
+            int[] firstRows = new int[chunkCount];
+            long totalRows = 0;
+            int narrowest = Integer.MAX_VALUE;
+            cols = 0;
+            for (int i = 0; i < chunkCount; i++) {
+                firstRows[i] = (int) totalRows;
+                totalRows += stats[i].rows;
+                cols = Math.max(cols, stats[i].widest);
+                narrowest = Math.min(narrowest, stats[i].narrowest);
+            }
+            if (totalRows > Integer.MAX_VALUE) {
+                throw new IOException("Maze has too many rows: " + totalRows);
+            }
+            rows = (int) totalRows;
+            if (rows > 0 && narrowest < cols) {
+                logger.warn("Rows of {} have widths from {} to {}, shorter rows are padded with passages",
+                        filePath, narrowest, cols);
+            }
+
+            // second pass: each chunk fills its own rows
+            GridStore grid = GridFactory.createGrid(storageName, rows, cols);
+            runChunks(i -> {
+                int[] row = { firstRows[i] };
+                scanChunk(channel, starts[i], starts[i + 1], (line, length) ->
+                        grid.setRow(row[0]++, new String(line, 0, length, StandardCharsets.ISO_8859_1)));
+            });
+            logger.info("Maze loaded in parallel from {} chunks ({} rows, {} cols)", chunkCount, rows, cols);
+            return grid;
+        }
+    }
+
+    // runs the chunk tasks on the common pool, rethrowing the first read error
+    private void runChunks(ChunkTask task) throws IOException {
+        try {
+            IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                try {
+                    task.run(i);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // moves a byte offset forward to the start of the next line
+    private static long alignToLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        // a line starting exactly at the offset is kept, so look from the byte before it
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    // hands every line of a byte range to the handler, without its line terminator
+    private static void scanChunk(FileChannel channel, long start, long end, LineHandler handler) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        byte[] line = new byte[256];
+        int length = 0;
+        long offset = start;
+        while (offset < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, end - offset));
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    handler.line(line, withoutCarriageReturn(line, length));
+                    length = 0;
+                } else {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = b;
+                }
+            }
+        }
+        if (length > 0) {
+            handler.line(line, withoutCarriageReturn(line, length)); // last line has no newline
+        }
+    }
+
+    private static int withoutCarriageReturn(byte[] line, int length) {
+        return length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // receives one line of a chunk
+    private interface LineHandler {
+        void line(byte[] line, int length) throws IOException;
+    }
+
+    // work done for one chunk
+    private interface ChunkTask {
+        void run(int chunk) throws IOException;
+    }
+
+    // row count and width range of one chunk
+    private static class ChunkStats {
+        private long rows = 0;
+        private int widest = 0;
+        private int narrowest = Integer.MAX_VALUE;
+
+        void add(int width) {
+            rows++;
+            widest = Math.max(widest, width);
+            narrowest = Math.min(narrowest, width);
+        }
+    }
+}
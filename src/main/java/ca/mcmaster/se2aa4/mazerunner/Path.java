@@ -1,5 +1,7 @@
 package ca.mcmaster.se2aa4.mazerunner;
 
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.PathFormatEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -23,19 +25,29 @@ public class Path {
     public Path(List<String> path) {
         this.path = path;
 
+        PathFormatEvent event = JfrSupport.isRecording() ? new PathFormatEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         normalizedPath = formatMoves(this.path);
         factorizedPath = factorizeMoves(this.path);
+        commit(event, this.path, factorizedPath);
 
         logger.info("Factorized path: {}", factorizedPath);
         logger.info("Canonical path: {}", normalizedPath);
     }
 
     public Path(String inputtedPath) {
+        PathFormatEvent event = JfrSupport.isRecording() ? new PathFormatEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         String input = convertFormat(inputtedPath);
         this.inputtedPath = pathToList(input);
 
         standardizedPath = formatMoves(this.inputtedPath);
         factorizedInputtedPath = factorizeMoves(this.inputtedPath);
+        commit(event, this.inputtedPath, factorizedInputtedPath);
 
         logger.info("Factorized inputted path: {}", factorizedInputtedPath);
         logger.info("Canonical inputted path: {}", standardizedPath);
@@ -59,6 +71,19 @@ public class Path {
         logger.info("Canonical inputted path: {}", standardizedPath);
     }
 
+    // records the formatting time, only filled in when a recording wants the event
+    private static void commit(PathFormatEvent event, List<String> moves, String factorized) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.moves = moves.size();
+            event.factorizedLength = factorized.length();
+            event.commit();
+        }
+    }
+
     // converts a string path into a list of individual moves
     private List<String> pathToList(String path) {
         List<String> pathList = new ArrayList<>();
@@ -116,7 +141,7 @@ public class Path {
     }
 
     // parses input string and handles numeric prefixes for move counts
-    private String convertFormat(String input) {
+    static String convertFormat(String input) {
         StringBuilder regularPath = new StringBuilder();
         StringBuilder numberBuffer = new StringBuilder(); // stores numeric prefix while parsing
 
@@ -0,0 +1,93 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.PreprocessEvent;
+import ca.mcmaster.se2aa4.mazerunner.search.CellPath;
+import ca.mcmaster.se2aa4.mazerunner.search.GridGraph;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// shortens a solved path: loops through revisited cells are cut and the turns are rebuilt,
+// so U-turns into dead ends and turn runs like R R R disappear
+public class PathOptimizer {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final Maze maze;
+    private final GridGraph graph;
+
+    public PathOptimizer(Maze maze) {
+        this.maze = maze;
+        this.graph = new GridGraph(maze);
+    }
+
+    // returns an equivalent path from the entrance facing right, or the moves unchanged if they do not replay
+    public List<String> optimize(List<String> moves) {
+        PreprocessEvent event = JfrSupport.isRecording() ? new PreprocessEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        List<String> optimized = removeLoops(moves);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "loop removal";
+                event.rows = maze.getRows();
+                event.cols = maze.getCols();
+                event.commit();
+            }
+        }
+        return optimized;
+    }
+
+    // replays the moves, cuts every loop and rebuilds the turns
+    private List<String> removeLoops(List<String> moves) {
+        int[] start = maze.getLeftOpening();
+        if (start == null) {
+            logger.error("No entrance found, path left as is");
+            return moves;
+        }
+
+        // replay the moves into the sequence of cells they walk through
+        int[] cells = new int[moves.size() + 1];
+        int count = 0;
+        cells[count++] = graph.cellOf(start);
+        int direction = 0;
+        for (String move : moves) {
+            if (move.equals("R")) {
+                direction = (direction + 1) % 4;
+            } else if (move.equals("L")) {
+                direction = (direction + 3) % 4;
+            } else if (move.equals("F")) {
+                int next = graph.openNeighbor(cells[count - 1], direction);
+                if (next == GridGraph.NONE) {
+                    logger.warn("Path runs into a wall after {} cells, left as is", count);
+                    return moves;
+                }
+                cells[count++] = next;
+            }
+        }
+
+        // last position of every cell in the walk, jumping there skips the loop in between
+        int[] lastVisit = new int[graph.getCellCount()];
+        Arrays.fill(lastVisit, -1);
+        for (int i = 0; i < count; i++) {
+            lastVisit[cells[i]] = i;
+        }
+        int length = 0;
+        int i = 0;
+        while (true) {
+            int last = lastVisit[cells[i]];
+            cells[length++] = cells[last]; // written at or behind the read position, so in place is safe
+            if (last + 1 >= count) {
+                break;
+            }
+            i = last + 1;
+        }
+
+        List<String> optimized = CellPath.toMoves(cells, length, graph.getCols(), 0);
+        logger.info("Path optimized from {} to {} moves ({} to {} cells)", moves.size(), optimized.size(), count, length);
+        return optimized;
+    }
+}
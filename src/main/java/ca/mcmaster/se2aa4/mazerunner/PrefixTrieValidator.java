@@ -0,0 +1,167 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// validates many paths at once by storing them in a trie, so a prefix shared by
+// several paths is replayed against the maze only once
+public class PrefixTrieValidator {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int NONE = -1;
+    private static final int SYMBOLS = 3; // F, L, R
+
+    // state of the runner after the instructions leading to a node
+    private static final byte RUNNING = 0;
+    private static final byte BLOCKED = 1; // an F hit a wall, later instructions are ignored
+    private static final byte EXITED = 2; // the exit was reached on this node's instruction
+    private static final byte PAST_EXIT = 3; // the path kept going after the exit
+
+    private final BatchValidator table;
+
+    // trie nodes stored in flat arrays, node 0 is the root
+    private int[] children = new int[0];
+    private int[] firstPath = new int[0];
+    private int[] nodeCell = new int[0];
+    private byte[] nodeDirection = new byte[0];
+    private byte[] nodeStatus = new byte[0];
+    private int nodeCount;
+
+    public PrefixTrieValidator(Maze maze) {
+        this.table = new BatchValidator(maze);
+    }
+
+    // validates every path (canonical or factorized), results come back in the order of the paths
+    public List<ValidationResult> validateAll(List<String> paths) {
+        int pathCount = paths.size();
+        int[] nextPath = new int[pathCount]; // paths ending on the same node, as linked lists
+        boolean[] invalidAfter = new boolean[pathCount]; // path ends with a character other than F/L/R
+
+        nodeCount = 0;
+        int root = newNode();
+        for (int i = 0; i < pathCount; i++) {
+            String instructions = paths.get(i) == null ? "" : Path.convertFormat(paths.get(i));
+            int node = root;
+            for (int j = 0; j < instructions.length(); j++) {
+                int symbol = symbol(instructions.charAt(j));
+                if (symbol == NONE) {
+                    invalidAfter[i] = true;
+                    break;
+                }
+                int slot = node * SYMBOLS + symbol;
+                if (children[slot] == NONE) {
+                    int child = newNode();
+                    children[slot] = child;
+                }
+                node = children[slot];
+            }
+            nextPath[i] = firstPath[node];
+            firstPath[node] = i;
+        }
+        logger.info("Trie built with {} nodes for {} paths", nodeCount, pathCount);
+
+        ValidationResult[] results = new ValidationResult[pathCount];
+        if (table.getStartCell() < 0 || table.getEndCell() < 0) {
+            Arrays.fill(results, new ValidationResult(false, table.position(table.getStartCell())));
+            return Arrays.asList(results);
+        }
+        replay(root, nextPath, invalidAfter, results);
+        return Arrays.asList(results);
+    }
+
+    // walks the trie depth first, deriving each node's state from its parent's
+    private void replay(int root, int[] nextPath, boolean[] invalidAfter, ValidationResult[] results) {
+        nodeCell[root] = table.getStartCell();
+        nodeDirection[root] = 0;
+        nodeStatus[root] = RUNNING;
+
+        int[] stack = new int[64];
+        int size = 0;
+        stack[size++] = root;
+        while (size > 0) {
+            int node = stack[--size];
+            resolvePaths(node, nextPath, invalidAfter, results);
+
+            for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+                int child = children[node * SYMBOLS + symbol];
+                if (child == NONE) {
+                    continue;
+                }
+                advance(node, child, symbol);
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size * 2);
+                }
+                stack[size++] = child;
+            }
+        }
+    }
+
+    // applies one instruction to the parent's state, the same way Explorer.solveMazeFromInput does
+    private void advance(int parent, int child, int symbol) {
+        int cell = nodeCell[parent];
+        int direction = nodeDirection[parent];
+        byte status = nodeStatus[parent];
+
+        if (status != RUNNING) {
+            nodeCell[child] = cell;
+            nodeDirection[child] = (byte) direction;
+            nodeStatus[child] = status == EXITED ? PAST_EXIT : status;
+            return;
+        }
+
+        if (symbol == 0) {
+            if (table.canMove(cell, direction)) {
+                cell += table.step(direction);
+            } else {
+                status = BLOCKED;
+            }
+        } else if (symbol == 1) {
+            direction = (direction + 3) & 3;
+        } else {
+            direction = (direction + 1) & 3;
+        }
+        if (status == RUNNING && cell == table.getEndCell()) {
+            status = EXITED;
+        }
+
+        nodeCell[child] = cell;
+        nodeDirection[child] = (byte) direction;
+        nodeStatus[child] = status;
+    }
+
+    // sets the verdict of every path that ends on the node
+    private void resolvePaths(int node, int[] nextPath, boolean[] invalidAfter, ValidationResult[] results) {
+        for (int path = firstPath[node]; path != NONE; path = nextPath[path]) {
+            boolean valid = nodeStatus[node] == EXITED && !invalidAfter[path];
+            results[path] = new ValidationResult(valid, table.position(nodeCell[node]));
+        }
+    }
+
+    private int newNode() {
+        if (nodeCount == firstPath.length) {
+            int capacity = Math.max(16, nodeCount * 2);
+            children = Arrays.copyOf(children, capacity * SYMBOLS);
+            firstPath = Arrays.copyOf(firstPath, capacity);
+            nodeCell = Arrays.copyOf(nodeCell, capacity);
+            nodeDirection = Arrays.copyOf(nodeDirection, capacity);
+            nodeStatus = Arrays.copyOf(nodeStatus, capacity);
+        }
+        // arrays are kept between batches, so clear whatever an earlier trie left here
+        Arrays.fill(children, nodeCount * SYMBOLS, (nodeCount + 1) * SYMBOLS, NONE);
+        firstPath[nodeCount] = NONE;
+        return nodeCount++;
+    }
+
+    private static int symbol(char instruction) {
+        if (instruction == 'F') {
+            return 0;
+        } else if (instruction == 'L') {
+            return 1;
+        } else if (instruction == 'R') {
+            return 2;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,28 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.util.Arrays;
+
+// verdict for one path checked against a maze, with where the runner stopped
+public class ValidationResult {
+    private final boolean valid;
+    private final int[] stopPosition;
+
+    public ValidationResult(boolean valid, int[] stopPosition) {
+        this.valid = valid;
+        this.stopPosition = stopPosition;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    // position reached when the path ended, hit a wall or left the exit, as (x, y)
+    public int[] getStopPosition() {
+        return stopPosition;
+    }
+
+    @Override
+    public String toString() {
+        return (valid ? "valid" : "invalid") + " " + Arrays.toString(stopPosition);
+    }
+}
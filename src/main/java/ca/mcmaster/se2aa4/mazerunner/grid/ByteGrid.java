@@ -0,0 +1,64 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+/**
+ * grid storage over a caller-owned byte array holding the maze characters row
+ * after row, the array can be refilled and wrapped again so one buffer serves
+ * many mazes
+ */
+public class ByteGrid implements GridStore {
+
+    private byte[] cells = new byte[0];
+    private int rows;
+    private int cols;
+
+    /**
+     * points the grid at a new maze held in a byte array
+     *
+     * @param cells the maze characters, rows * cols of them used
+     * @param rows  the number of rows in the maze
+     * @param cols  the number of columns in the maze
+     */
+    public void wrap(byte[] cells, int rows, int cols) {
+        if ((long) rows * cols > cells.length) {
+            throw new IllegalArgumentException("Cell buffer is smaller than " + rows + "x" + cols);
+        }
+        this.cells = cells;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return cells[y * cols + x] == '#';
+    }
+
+    @Override
+    public void setWall(int x, int y, boolean wall) {
+        cells[y * cols + x] = (byte) (wall ? '#' : ' ');
+    }
+
+    @Override
+    public char getCell(int x, int y) {
+        return (char) cells[y * cols + x];
+    }
+
+    @Override
+    public long getFootprintBytes() {
+        return (long) rows * cols;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "byte";
+    }
+}
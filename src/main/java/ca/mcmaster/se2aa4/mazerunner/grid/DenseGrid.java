@@ -0,0 +1,69 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import java.util.Arrays;
+
+/**
+ * grid storage that keeps every cell as a char, one array per row
+ */
+public class DenseGrid implements GridStore {
+
+    private final char[][] grid;
+    private final int rows;
+    private final int cols;
+
+    public DenseGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        // rows are filled in by setRow as the maze file is read
+        this.grid = new char[rows][];
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return grid[y][x] == '#';
+    }
+
+    @Override
+    public void setWall(int x, int y, boolean wall) {
+        if (grid[y] == null) {
+            grid[y] = " ".repeat(cols).toCharArray();
+        }
+        grid[y][x] = wall ? '#' : ' ';
+    }
+
+    @Override
+    public char getCell(int x, int y) {
+        return grid[y][x];
+    }
+
+    @Override
+    public void setRow(int y, CharSequence line) {
+        char[] row = line.toString().toCharArray(); // keep the raw characters of the row
+        if (row.length < cols) {
+            // rows with trimmed trailing spaces end in passages
+            row = Arrays.copyOf(row, cols);
+            Arrays.fill(row, line.length(), cols, ' ');
+        }
+        grid[y] = row;
+    }
+
+    @Override
+    public char[][] toCharArray() {
+        return grid;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "dense";
+    }
+}
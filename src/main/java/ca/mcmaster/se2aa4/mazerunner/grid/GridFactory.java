@@ -0,0 +1,63 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * factory class for creating maze grid storage
+ */
+public class GridFactory {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String OFF_HEAP_GRID = "ca.mcmaster.se2aa4.mazerunner.grid.offheap.OffHeapGrid";
+
+    /**
+     * creates an empty grid store based on the storage name
+     *
+     * @param storageName the name of the storage to create ("dense", "tiled",
+     *                    "packed" or "offheap")
+     * @param rows        the number of rows in the maze
+     * @param cols        the number of columns in the maze
+     * @return the appropriate grid store implementation
+     */
+    public static GridStore createGrid(String storageName, int rows, int cols) {
+        if (storageName == null || storageName.isEmpty()) {
+            logger.info("No storage specified, defaulting to dense grid");
+            return new DenseGrid(rows, cols);
+        }
+
+        String lowerName = storageName.toLowerCase();
+
+        switch (lowerName) {
+            case "dense":
+                logger.info("Using dense grid storage");
+                return new DenseGrid(rows, cols);
+            case "tiled":
+                logger.info("Using tiled grid storage");
+                return new TiledGrid(rows, cols);
+            case "packed":
+                logger.info("Using packed grid storage");
+                return new PackedGrid(rows, cols);
+            case "offheap":
+                return createOffHeapGrid(rows, cols);
+            default:
+                logger.warn("Unknown storage: {}, defaulting to dense grid", storageName);
+                return new DenseGrid(rows, cols);
+        }
+    }
+
+    // the off-heap grid is only built by the offheap profile and needs --enable-preview at run time
+    private static GridStore createOffHeapGrid(int rows, int cols) {
+        try {
+            GridStore grid = (GridStore) Class.forName(OFF_HEAP_GRID)
+                    .getDeclaredConstructor(int.class, int.class)
+                    .newInstance(rows, cols);
+            logger.info("Using off-heap grid storage");
+            return grid;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Off-heap storage not available, defaulting to packed grid");
+            return new PackedGrid(rows, cols);
+        }
+    }
+}
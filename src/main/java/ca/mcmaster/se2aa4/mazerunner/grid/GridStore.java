@@ -0,0 +1,93 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+/**
+ * storage interface for the cells of a maze grid
+ */
+public interface GridStore extends AutoCloseable {
+
+    /**
+     * checks whether the cell at the given coordinates is a wall
+     *
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is a wall
+     */
+    boolean isWall(int x, int y);
+
+    /**
+     * marks the cell at the given coordinates as a wall or a passage
+     *
+     * @param x    the column of the cell
+     * @param y    the row of the cell
+     * @param wall true to make the cell a wall, false for a passage
+     */
+    void setWall(int x, int y, boolean wall);
+
+    /**
+     * gets the character for the cell at the given coordinates ('#' for walls)
+     *
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the cell character
+     */
+    default char getCell(int x, int y) {
+        return isWall(x, y) ? '#' : ' ';
+    }
+
+    /**
+     * fills one row of the grid from a line of the maze file, cells past the
+     * end of the line are passages
+     *
+     * @param y    the row to fill
+     * @param line the text of the row
+     */
+    default void setRow(int y, CharSequence line) {
+        for (int x = 0; x < getCols(); x++) {
+            setWall(x, y, x < line.length() && line.charAt(x) == '#');
+        }
+    }
+
+    /**
+     * copies the grid into a 2D char array
+     *
+     * @return the grid as rows of cell characters
+     */
+    default char[][] toCharArray() {
+        char[][] copy = new char[getRows()][getCols()];
+        for (int y = 0; y < getRows(); y++) {
+            for (int x = 0; x < getCols(); x++) {
+                copy[y][x] = getCell(x, y);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * releases memory held outside the Java heap, nothing to do for heap storages
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * estimates the memory holding the cells, used to tell whether a helper
+     * needing a few bytes per cell is in proportion to the grid, one char per
+     * cell unless the storage says otherwise
+     *
+     * @return the approximate size of the cell storage in bytes
+     */
+    default long getFootprintBytes() {
+        return 2L * getRows() * getCols();
+    }
+
+    int getRows();
+
+    int getCols();
+
+    /**
+     * gets the name of the storage
+     *
+     * @return the storage name
+     */
+    String getName();
+}
@@ -0,0 +1,263 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * grid storage that reads a text maze file on demand: opening it only records
+ * where every line starts and whether its first and last cells are walls, and
+ * rows are decoded the first time a cell in them is read, keeping the most
+ * recently used rows in a bounded cache
+ */
+public class LazyGrid implements GridStore {
+
+    public static final int DEFAULT_CACHE_ROWS = 1024;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    // lineStarts[y] is the byte offset of row y, lineLengths[y] its length without the line terminator
+    private final long[] lineStarts;
+    private final int[] lineLengths;
+    // walls on the left and right borders, recorded while indexing so openings need no decoding
+    private final boolean[] leftWalls;
+    private final boolean[] rightWalls;
+    private final int rows;
+    private final int cols;
+    private final int words;
+    private final int cacheRows;
+
+    private final Map<Integer, long[]> cache;
+    // edited rows stay in memory, they cannot be decoded again from the file
+    private final Map<Integer, long[]> editedRows = new HashMap<>();
+    private int lastRow = -1;
+    private long[] lastMasks;
+    private long decodedRows = 0;
+
+    private LazyGrid(FileChannel channel, long[] lineStarts, int[] lineLengths, boolean[] leftWalls,
+            boolean[] rightWalls, int rows, int cols, int cacheRows) {
+        this.channel = channel;
+        this.lineStarts = lineStarts;
+        this.lineLengths = lineLengths;
+        this.leftWalls = leftWalls;
+        this.rightWalls = rightWalls;
+        this.rows = rows;
+        this.cols = cols;
+        this.words = (cols + 63) >> 6;
+        int capacity = Math.max(1, cacheRows);
+        this.cacheRows = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, long[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * opens an uncompressed text maze and indexes its lines
+     *
+     * @param filePath  the maze file
+     * @param cacheRows the number of decoded rows to keep
+     * @return the grid, reading the file as cells are accessed
+     * @throws IOException if the file cannot be read
+     */
+    public static LazyGrid open(String filePath, int cacheRows) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            long[] starts = new long[64];
+            int[] lengths = new int[64];
+            boolean[] left = new boolean[64];
+            boolean[] lastIsWall = new boolean[64];
+            int count = 0;
+            int width = 0;
+
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            long offset = 0;
+            long lineStart = 0;
+            byte first = 0;
+            byte previous = 0;
+            byte last = 0;
+            int read;
+            while ((read = channel.read(buffer.clear(), offset)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = bytes[i];
+                    long position = offset + i;
+                    if (b == '\n') {
+                        int length = (int) (position - lineStart);
+                        if (length > 0 && previous == '\r') {
+                            length--;
+                        }
+                        if (count == starts.length) {
+                            starts = Arrays.copyOf(starts, count * 2);
+                            lengths = Arrays.copyOf(lengths, count * 2);
+                            left = Arrays.copyOf(left, count * 2);
+                            lastIsWall = Arrays.copyOf(lastIsWall, count * 2);
+                        }
+                        starts[count] = lineStart;
+                        lengths[count] = length;
+                        left[count] = length > 0 && first == '#';
+                        lastIsWall[count] = length > 0 && last == '#';
+                        width = Math.max(width, length);
+                        count++;
+                        lineStart = position + 1;
+                    } else {
+                        if (position == lineStart) {
+                            first = b;
+                        }
+                        if (b != '\r') {
+                            last = b;
+                        }
+                    }
+                    previous = b;
+                }
+                offset += read;
+            }
+            if (offset > lineStart) {
+                // last line without a newline
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count + 1);
+                    lengths = Arrays.copyOf(lengths, count + 1);
+                    left = Arrays.copyOf(left, count + 1);
+                    lastIsWall = Arrays.copyOf(lastIsWall, count + 1);
+                }
+                int length = (int) (offset - lineStart) - (previous == '\r' ? 1 : 0);
+                starts[count] = lineStart;
+                lengths[count] = length;
+                left[count] = length > 0 && first == '#';
+                lastIsWall[count] = length > 0 && last == '#';
+                width = Math.max(width, length);
+                count++;
+            }
+
+            // the right border is a wall only on rows that reach the full width
+            boolean[] right = new boolean[count];
+            for (int y = 0; y < count; y++) {
+                right[y] = lengths[y] == width && lastIsWall[y];
+            }
+            return new LazyGrid(channel, Arrays.copyOf(starts, count), Arrays.copyOf(lengths, count),
+                    Arrays.copyOf(left, count), right, count, width, cacheRows);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        if (x == 0 && cols > 0) {
+            return leftWalls[y];
+        }
+        if (x == cols - 1) {
+            return rightWalls[y];
+        }
+        return ((rowMasks(y)[x >> 6] >>> (x & 63)) & 1L) != 0;
+    }
+
+    @Override
+    public synchronized void setWall(int x, int y, boolean wall) {
+        long[] masks = editedRows.get(y);
+        if (masks == null) {
+            masks = rowMasks(y).clone();
+            editedRows.put(y, masks);
+            cache.remove(y);
+        }
+        long bit = 1L << (x & 63);
+        masks[x >> 6] = wall ? masks[x >> 6] | bit : masks[x >> 6] & ~bit;
+        if (x == 0) {
+            leftWalls[y] = wall;
+        }
+        if (x == cols - 1) {
+            rightWalls[y] = wall;
+        }
+        lastRow = y;
+        lastMasks = masks;
+    }
+
+    // wall masks of a row, decoded from the file on a cache miss
+    private synchronized long[] rowMasks(int y) {
+        if (y == lastRow) {
+            return lastMasks;
+        }
+        long[] masks = editedRows.get(y);
+        if (masks == null) {
+            masks = cache.get(y);
+        }
+        if (masks == null) {
+            masks = decodeRow(y);
+            cache.put(y, masks);
+        }
+        lastRow = y;
+        lastMasks = masks;
+        return masks;
+    }
+
+    private long[] decodeRow(int y) {
+        byte[] line = new byte[lineLengths[y]];
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        try {
+            long position = lineStarts[y];
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Maze file ended inside row " + y);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read row " + y + " of the maze", e);
+        }
+        long[] masks = new long[words];
+        RowScanners.get().wallMasks(new String(line, StandardCharsets.ISO_8859_1), cols, masks);
+        decodedRows++;
+        return masks;
+    }
+
+    /**
+     * counts the rows decoded from the file so far, a row evicted and read
+     * again counts twice
+     *
+     * @return the number of row decodes
+     */
+    public synchronized long getDecodedRowCount() {
+        return decodedRows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the line index plus a full row cache, edited rows are not counted
+    @Override
+    public long getFootprintBytes() {
+        return (long) rows * (Long.BYTES + Integer.BYTES + 2) + (long) Math.min(rows, cacheRows) * words * Long.BYTES;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "lazy";
+    }
+}
@@ -0,0 +1,100 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import java.nio.ByteBuffer;
+
+/**
+ * grid storage with one bit per cell (set for walls), rows padded to whole
+ * bytes, the buffer can be a slice of a memory-mapped binary maze file so the
+ * payload is used as is without copying (a read-only buffer is copied to the
+ * heap the first time a cell is changed)
+ */
+public class PackedGrid implements GridStore {
+
+    private ByteBuffer cells;
+    private final int rows;
+    private final int cols;
+    private final int bytesPerRow;
+
+    public PackedGrid(int rows, int cols) {
+        this(ByteBuffer.allocate(Math.multiplyExact(rows, bytesPerRow(cols))), rows, cols);
+    }
+
+    public PackedGrid(ByteBuffer cells, int rows, int cols) {
+        this.cells = cells;
+        this.rows = rows;
+        this.cols = cols;
+        this.bytesPerRow = bytesPerRow(cols);
+    }
+
+    /**
+     * gets the number of bytes used by one packed row
+     *
+     * @param cols the number of columns in the maze
+     * @return the row size in bytes
+     */
+    public static int bytesPerRow(int cols) {
+        return (cols + 7) >> 3;
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return ((cells.get(y * bytesPerRow + (x >> 3)) >> (x & 7)) & 1) != 0;
+    }
+
+    @Override
+    public void setWall(int x, int y, boolean wall) {
+        makeWritable();
+        int index = y * bytesPerRow + (x >> 3);
+        int bit = 1 << (x & 7);
+        int packed = cells.get(index);
+        cells.put(index, (byte) (wall ? packed | bit : packed & ~bit));
+    }
+
+    @Override
+    public void setRow(int y, CharSequence line) {
+        makeWritable();
+        long[] masks = new long[(cols + 63) >> 6];
+        RowScanners.get().wallMasks(line, cols, masks);
+        int index = y * bytesPerRow;
+        for (int byteX = 0; byteX < bytesPerRow; byteX++) {
+            cells.put(index + byteX, (byte) (masks[byteX >> 3] >>> ((byteX & 7) << 3)));
+        }
+    }
+
+    private void makeWritable() {
+        if (cells.isReadOnly()) {
+            ByteBuffer copy = ByteBuffer.allocate(cells.capacity());
+            copy.put(cells.duplicate().clear());
+            cells = copy;
+        }
+    }
+
+    /**
+     * gets the packed cells, row after row
+     *
+     * @return the buffer holding the cells
+     */
+    public ByteBuffer getCells() {
+        return cells.duplicate();
+    }
+
+    @Override
+    public long getFootprintBytes() {
+        return (long) rows * bytesPerRow;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "packed";
+    }
+}
@@ -0,0 +1,26 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+/**
+ * classifies the characters of a maze row into wall bitmasks, 64 cells per
+ * word, so grid storages can fill whole words at a time instead of testing
+ * every cell
+ */
+public interface RowScanner {
+
+    /**
+     * builds the wall masks of one row, bit (x & 63) of word (x >> 6) is set
+     * when cell x is a wall, cells past the end of the line are passages
+     *
+     * @param line  the text of the row
+     * @param cols  the number of columns in the maze
+     * @param masks receives (cols + 63) / 64 words
+     */
+    void wallMasks(CharSequence line, int cols, long[] masks);
+
+    /**
+     * gets the name of the scanner implementation
+     *
+     * @return the scanner name
+     */
+    String getName();
+}
@@ -0,0 +1,45 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * picks the row scanner for this run: the vector scanner when the simd build
+ * put it on the classpath and jdk.incubator.vector is enabled, otherwise the
+ * scalar one (set -Dmazerunner.simd=false to force the scalar scanner)
+ */
+public final class RowScanners {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String VECTOR_SCANNER = "ca.mcmaster.se2aa4.mazerunner.grid.simd.VectorRowScanner";
+    private static final RowScanner INSTANCE = load();
+
+    private RowScanners() {
+    }
+
+    /**
+     * gets the shared row scanner
+     *
+     * @return the fastest scanner available
+     */
+    public static RowScanner get() {
+        return INSTANCE;
+    }
+
+    private static RowScanner load() {
+        if (!Boolean.parseBoolean(System.getProperty("mazerunner.simd", "true"))) {
+            logger.info("Using scalar row scanner");
+            return new ScalarRowScanner();
+        }
+        try {
+            // loaded by name so the default build needs neither the class nor the incubator module
+            RowScanner scanner = (RowScanner) Class.forName(VECTOR_SCANNER).getDeclaredConstructor().newInstance();
+            logger.info("Using {} row scanner", scanner.getName());
+            return scanner;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.info("Vector row scanner not available, using scalar row scanner");
+            return new ScalarRowScanner();
+        }
+    }
+}
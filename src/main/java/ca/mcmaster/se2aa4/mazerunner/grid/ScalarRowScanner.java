@@ -0,0 +1,30 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+/**
+ * row scanner that tests one character at a time, used whenever the vector
+ * implementation is not available
+ */
+public class ScalarRowScanner implements RowScanner {
+
+    @Override
+    public void wallMasks(CharSequence line, int cols, long[] masks) {
+        int words = (cols + 63) >> 6;
+        int end = Math.min(line.length(), cols);
+        for (int word = 0; word < words; word++) {
+            long mask = 0L;
+            int start = word << 6;
+            int wordEnd = Math.min(end, start + 64);
+            for (int x = start; x < wordEnd; x++) {
+                if (line.charAt(x) == '#') {
+                    mask |= 1L << (x - start);
+                }
+            }
+            masks[word] = mask;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
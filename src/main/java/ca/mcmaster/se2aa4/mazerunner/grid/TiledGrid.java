@@ -0,0 +1,169 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import java.util.Arrays;
+
+/**
+ * grid storage split into fixed-size square tiles, a tile that is all walls or
+ * all passages is kept as a single flag and only mixed tiles hold a bitset, so
+ * memory follows the complexity of the maze rather than its area
+ */
+public class TiledGrid implements GridStore {
+
+    // tiles are 64x64 so each row of a tile fits in one long
+    public static final int TILE_SHIFT = 6;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    // tile states: nothing written yet, uniform passage, uniform wall, bitset
+    private static final byte UNSET = 0;
+    private static final byte PASS = 1;
+    private static final byte WALL = 2;
+    private static final byte MIXED = 3;
+
+    private final int rows;
+    private final int cols;
+    private final int tilesX;
+    private final byte[] states;
+    // one long per tile row, bit x set when the cell is a wall (null unless mixed)
+    private final long[][] bits;
+    // one lock per band of tile rows so loaders can fill disjoint rows in parallel
+    private final Object[] bandLocks;
+
+    public TiledGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tilesX = (cols + TILE_MASK) >> TILE_SHIFT;
+        int tilesY = (rows + TILE_MASK) >> TILE_SHIFT;
+        this.states = new byte[tilesX * tilesY];
+        this.bits = new long[tilesX * tilesY][];
+        this.bandLocks = new Object[tilesY];
+        for (int band = 0; band < tilesY; band++) {
+            bandLocks[band] = new Object();
+        }
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        int tile = tileIndex(x, y);
+        long[] tileBits = bits[tile];
+        if (tileBits != null) {
+            return ((tileBits[y & TILE_MASK] >>> (x & TILE_MASK)) & 1L) != 0;
+        }
+        return states[tile] == WALL;
+    }
+
+    @Override
+    public void setWall(int x, int y, boolean wall) {
+        int tile = tileIndex(x, y);
+        synchronized (bandLocks[y >> TILE_SHIFT]) {
+            byte state = states[tile];
+            if ((state == WALL && wall) || ((state == PASS || state == UNSET) && !wall)) {
+                return; // cell already has the requested value
+            }
+            long[] tileBits = expand(tile);
+            long bit = 1L << (x & TILE_MASK);
+            if (wall) {
+                tileBits[y & TILE_MASK] |= bit;
+            } else {
+                tileBits[y & TILE_MASK] &= ~bit;
+            }
+        }
+    }
+
+    @Override
+    public void setRow(int y, CharSequence line) {
+        // tiles are 64 cells wide, so each scanned word is exactly one tile row
+        long[] masks = new long[tilesX];
+        RowScanners.get().wallMasks(line, cols, masks);
+        for (int tileX = 0; tileX < tilesX; tileX++) {
+            int width = Math.min(TILE_SIZE, cols - (tileX << TILE_SHIFT));
+            writeTileRow((y >> TILE_SHIFT) * tilesX + tileX, y, masks[tileX], widthMask(width));
+        }
+    }
+
+    // stores one row segment of a tile, keeping the tile uniform while it can be
+    private void writeTileRow(int tile, int y, long rowBits, long fullMask) {
+        byte segment = rowBits == 0L ? PASS : (rowBits == fullMask ? WALL : MIXED);
+        synchronized (bandLocks[y >> TILE_SHIFT]) {
+            byte state = states[tile];
+            if (state == UNSET && segment != MIXED) {
+                states[tile] = segment; // first row decides the uniform value
+                return;
+            }
+            if (state == segment && state != MIXED) {
+                return;
+            }
+            expand(tile)[y & TILE_MASK] = rowBits;
+        }
+    }
+
+    // converts a uniform tile into a bitset holding the same cells
+    private long[] expand(int tile) {
+        long[] tileBits = bits[tile];
+        if (tileBits == null) {
+            tileBits = new long[TILE_SIZE];
+            if (states[tile] == WALL) {
+                int tileX = tile % tilesX;
+                long fullMask = widthMask(Math.min(TILE_SIZE, cols - (tileX << TILE_SHIFT)));
+                Arrays.fill(tileBits, fullMask);
+            }
+            bits[tile] = tileBits;
+            states[tile] = MIXED;
+        }
+        return tileBits;
+    }
+
+    private int tileIndex(int x, int y) {
+        return (y >> TILE_SHIFT) * tilesX + (x >> TILE_SHIFT);
+    }
+
+    private static long widthMask(int width) {
+        return width == TILE_SIZE ? -1L : (1L << width) - 1;
+    }
+
+    /**
+     * counts the tiles that needed a bitset
+     *
+     * @return the number of mixed tiles
+     */
+    public int getMixedTileCount() {
+        int count = 0;
+        for (byte state : states) {
+            if (state == MIXED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getTileCount() {
+        return states.length;
+    }
+
+    // a state byte per tile, plus 64 longs for each mixed tile
+    @Override
+    public long getFootprintBytes() {
+        long footprint = states.length;
+        for (long[] tileBits : bits) {
+            if (tileBits != null) {
+                footprint += (long) TILE_SIZE * Long.BYTES;
+            }
+        }
+        return footprint;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "tiled";
+    }
+}
@@ -0,0 +1,35 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event covering one strategy solving a maze
+ */
+@Name("ca.mcmaster.se2aa4.mazerunner.Exploration")
+@Label("Maze Exploration")
+@Category("Maze Runner")
+@Description("A strategy searching a path from the entrance to the exit")
+@StackTrace(false)
+public class ExplorationEvent extends Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int cols;
+
+    @Label("Moves")
+    public int moves;
+
+    @Label("Cells Entered")
+    @Description("Forward moves, a cell entered twice counts twice")
+    public int cellsEntered;
+}
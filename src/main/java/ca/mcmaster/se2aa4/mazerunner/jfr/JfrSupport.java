@@ -0,0 +1,26 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * tells the code emitting events whether the flight recorder is running
+ *
+ * <p>loading the first event class bootstraps the recorder's metadata and
+ * instrumentation, a few hundred milliseconds that would dominate solving a
+ * small maze, so events are only created once a recording has been started
+ * (with -XX:StartFlightRecording, jcmd JFR.start or the Recording API)
+ */
+public final class JfrSupport {
+
+    private JfrSupport() {
+    }
+
+    /**
+     * checks whether events can be recorded, without loading any event class
+     *
+     * @return true once the flight recorder has been started in this JVM
+     */
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+}
@@ -0,0 +1,34 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event covering the loading of a maze file
+ */
+@Name("ca.mcmaster.se2aa4.mazerunner.MazeLoad")
+@Label("Maze Load")
+@Category("Maze Runner")
+@Description("Reading a maze file into grid storage")
+@StackTrace(false)
+public class MazeLoadEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Storage")
+    public String storage;
+
+    @Label("Binary")
+    public boolean binary;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int cols;
+}
@@ -0,0 +1,27 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event covering the canonical and factorized formatting of
+ * a path
+ */
+@Name("ca.mcmaster.se2aa4.mazerunner.PathFormat")
+@Label("Path Formatting")
+@Category("Maze Runner")
+@Description("Building the canonical and factorized forms of a path")
+@StackTrace(false)
+public class PathFormatEvent extends Event {
+
+    @Label("Moves")
+    public int moves;
+
+    @Label("Factorized Length")
+    @Description("Characters in the factorized form")
+    public int factorizedLength;
+}
@@ -0,0 +1,29 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event covering work done on a maze besides solving it, such
+ * as measuring features, building lookup tables or optimizing a path
+ */
+@Name("ca.mcmaster.se2aa4.mazerunner.Preprocess")
+@Label("Maze Preprocessing")
+@Category("Maze Runner")
+@Description("Analysis or transformation of a maze or path outside the strategies")
+@StackTrace(false)
+public class PreprocessEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int cols;
+}
@@ -0,0 +1,31 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event covering the check of a user path against a maze
+ */
+@Name("ca.mcmaster.se2aa4.mazerunner.Validation")
+@Label("Path Validation")
+@Category("Maze Runner")
+@Description("Replaying an inputted path through the maze")
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int cols;
+
+    @Label("Moves")
+    public int moves;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,189 @@
+package ca.mcmaster.se2aa4.mazerunner.render;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * draws a maze with a solved path, and optionally how often each passage was
+ * visited, into a PNG or PPM image; the image is produced one row of cells at
+ * a time so only a row of pixels and the path cells are kept in memory
+ */
+public class MazeRenderer {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // cells get up to MAX_SCALE pixels a side while the image stays near TARGET_SIZE pixels
+    public static final int MAX_SCALE = 8;
+    private static final int TARGET_SIZE = 1024;
+
+    private static final byte[] WALL = rgb(0x20, 0x20, 0x20);
+    private static final byte[] PASSAGE = rgb(0xff, 0xff, 0xff);
+    private static final byte[] PATH = rgb(0xe0, 0x20, 0x20);
+
+    private final Maze maze;
+    private final int scale;
+
+    // sorted cell indices (y * cols + x) on the path
+    private long[] pathCells = new long[0];
+    private IntBinaryOperator visits;
+    private int maxVisits;
+
+    public MazeRenderer(Maze maze) {
+        this(maze, defaultScale(maze));
+    }
+
+    public MazeRenderer(Maze maze, int scale) {
+        this.maze = maze;
+        this.scale = Math.max(1, scale);
+    }
+
+    /**
+     * picks a cell size that keeps small mazes readable and huge mazes at one
+     * pixel per cell
+     *
+     * @param maze the maze to draw
+     * @return the number of pixels on each side of a cell
+     */
+    public static int defaultScale(Maze maze) {
+        int size = Math.max(1, Math.max(maze.getRows(), maze.getCols()));
+        return Math.max(1, Math.min(MAX_SCALE, TARGET_SIZE / size));
+    }
+
+    /**
+     * sets the path to draw over the maze, replayed from the entrance facing
+     * right like the explorer does, it stops at the first move into a wall
+     *
+     * @param start the entrance (x, y)
+     * @param moves the F, L and R moves, e.g. from Explorer.getPathSteps
+     */
+    public void setPath(int[] start, List<String> moves) {
+        int cols = maze.getCols();
+        int rows = maze.getRows();
+        long[] cells = new long[16];
+        int count = 0;
+        int x = start[0];
+        int y = start[1];
+        int direction = 0;
+        cells[count++] = (long) y * cols + x;
+        for (String move : moves) {
+            if ("R".equals(move)) {
+                direction = (direction + 1) % 4;
+            } else if ("L".equals(move)) {
+                direction = (direction + 3) % 4;
+            } else if ("F".equals(move)) {
+                int nextX = x + (direction == 0 ? 1 : direction == 2 ? -1 : 0);
+                int nextY = y + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+                if (nextX < 0 || nextX >= cols || nextY < 0 || nextY >= rows || maze.isWall(nextX, nextY)) {
+                    logger.warn("Path runs into a wall at ({}, {}), drawing it up to there", nextX, nextY);
+                    break;
+                }
+                x = nextX;
+                y = nextY;
+                if (count == cells.length) {
+                    cells = Arrays.copyOf(cells, count * 2);
+                }
+                cells[count++] = (long) y * cols + x;
+            }
+        }
+
+        // sorted and without repeats, so the rows can walk through them in order
+        Arrays.sort(cells, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || cells[i] != cells[unique - 1]) {
+                cells[unique++] = cells[i];
+            }
+        }
+        this.pathCells = Arrays.copyOf(cells, unique);
+    }
+
+    /**
+     * colours passages by how often they were visited, from white for
+     * unvisited passages to blue for the most visited ones
+     *
+     * @param visits    gives the visit count of a cell from its x and y,
+     *                  e.g. TremauxStrategy::getVisits
+     * @param maxVisits the count drawn in full blue
+     */
+    public void setHeatmap(IntBinaryOperator visits, int maxVisits) {
+        this.visits = visits;
+        this.maxVisits = Math.max(1, maxVisits);
+    }
+
+    /**
+     * writes the image, the format follows the file extension (.ppm or png)
+     *
+     * @param filePath the image file to create
+     * @throws IOException if the image cannot be written
+     */
+    public void render(String filePath) throws IOException {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        long width = (long) cols * scale;
+        long height = (long) rows * scale;
+        if (width * 3 > Integer.MAX_VALUE - 8 || height > Integer.MAX_VALUE) {
+            throw new IOException("Image of " + width + "x" + height + " pixels is too large, use a smaller scale");
+        }
+
+        byte[] line = new byte[(int) width * 3];
+        int nextPathCell = 0;
+        try (ScanlineWriter writer = ScanlineWriter.open(filePath, (int) width, (int) height)) {
+            for (int y = 0; y < rows; y++) {
+                long rowStart = (long) y * cols;
+                for (int x = 0; x < cols; x++) {
+                    while (nextPathCell < pathCells.length && pathCells[nextPathCell] < rowStart + x) {
+                        nextPathCell++;
+                    }
+                    boolean onPath = nextPathCell < pathCells.length && pathCells[nextPathCell] == rowStart + x;
+                    byte[] color = onPath ? pathColorOf(x, y) : colorOf(x, y);
+                    int offset = x * scale * 3;
+                    for (int i = 0; i < scale; i++) {
+                        line[offset++] = color[0];
+                        line[offset++] = color[1];
+                        line[offset++] = color[2];
+                    }
+                }
+                for (int i = 0; i < scale; i++) {
+                    writer.writeRow(line);
+                }
+            }
+        }
+        logger.info("Rendered {}x{} maze to {} ({}x{} pixels)", cols, rows, filePath, width, height);
+    }
+
+    private byte[] colorOf(int x, int y) {
+        if (maze.isWall(x, y)) {
+            return WALL;
+        }
+        int count = visitsOf(x, y);
+        if (count <= 0) {
+            return PASSAGE;
+        }
+        // white fading to blue as the count grows
+        int fade = 0xff - 0xd0 * count / maxVisits;
+        return rgb(fade, fade, 0xff);
+    }
+
+    // a backtracking path covers most visited cells, so with a heatmap its red darkens with the count too
+    private byte[] pathColorOf(int x, int y) {
+        int count = visitsOf(x, y);
+        if (count <= 0) {
+            return PATH;
+        }
+        int fade = 0xa0 - 0xa0 * count / maxVisits;
+        return rgb(0xff - 0x60 * count / maxVisits, fade, fade);
+    }
+
+    private int visitsOf(int x, int y) {
+        return visits == null ? 0 : Math.min(visits.applyAsInt(x, y), maxVisits);
+    }
+
+    private static byte[] rgb(int red, int green, int blue) {
+        return new byte[] { (byte) red, (byte) green, (byte) blue };
+    }
+}
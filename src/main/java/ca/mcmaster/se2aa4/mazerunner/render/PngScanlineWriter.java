@@ -0,0 +1,120 @@
+package ca.mcmaster.se2aa4.mazerunner.render;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * writes 8-bit RGB PNG images: rows are deflated as they arrive and the
+ * compressed bytes are flushed as IDAT chunks whenever the chunk buffer fills,
+ * so memory use does not depend on the image size
+ */
+public class PngScanlineWriter implements ScanlineWriter {
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final Deflater deflater;
+    private final DeflaterOutputStream compressed;
+    private final int width;
+
+    public PngScanlineWriter(String filePath, int width, int height) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(filePath)), CHUNK_SIZE));
+        this.width = width;
+        out.write(SIGNATURE);
+
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bits per channel
+        header[9] = 2; // truecolor
+        // compression, filter and interlace methods stay 0
+        writeChunk("IHDR", header, header.length);
+
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.compressed = new DeflaterOutputStream(new IdatStream(), deflater, CHUNK_SIZE);
+    }
+
+    @Override
+    public void writeRow(byte[] rgb) throws IOException {
+        compressed.write(0); // no filter, mazes are flat areas that deflate well as they are
+        compressed.write(rgb, 0, width * 3);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            compressed.close(); // flushes the last IDAT chunk
+            writeChunk("IEND", new byte[0], 0);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    // collects deflated bytes and writes them out as IDAT chunks of at most CHUNK_SIZE bytes
+    private class IdatStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size = 0;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (size == buffer.length) {
+                flushChunk();
+            }
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (size == buffer.length) {
+                    flushChunk();
+                }
+                int count = Math.min(length, buffer.length - size);
+                System.arraycopy(bytes, offset, buffer, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+
+        private void flushChunk() throws IOException {
+            if (size > 0) {
+                writeChunk("IDAT", buffer, size);
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ca.mcmaster.se2aa4.mazerunner.render;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * writes binary PPM (P6) images, the header is followed by the raw rows
+ */
+public class PpmScanlineWriter implements ScanlineWriter {
+
+    private final OutputStream out;
+    private final int width;
+
+    public PpmScanlineWriter(String filePath, int width, int height) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(Paths.get(filePath)), 1 << 16);
+        this.width = width;
+        out.write(("P6\n" + width + " " + height + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void writeRow(byte[] rgb) throws IOException {
+        out.write(rgb, 0, width * 3);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
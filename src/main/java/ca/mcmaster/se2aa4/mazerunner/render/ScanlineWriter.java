@@ -0,0 +1,43 @@
+package ca.mcmaster.se2aa4.mazerunner.render;
+
+import java.io.IOException;
+
+/**
+ * writes an RGB image one row of pixels at a time, so no more than a row is
+ * ever held in memory
+ */
+public interface ScanlineWriter extends AutoCloseable {
+
+    /**
+     * opens a writer for the format named by the file extension, ".ppm" for
+     * PPM and PNG for anything else
+     *
+     * @param filePath the image file to create
+     * @param width    the width in pixels
+     * @param height   the height in pixels
+     * @return the writer, expecting height rows
+     * @throws IOException if the file cannot be created
+     */
+    static ScanlineWriter open(String filePath, int width, int height) throws IOException {
+        if (filePath.toLowerCase().endsWith(".ppm")) {
+            return new PpmScanlineWriter(filePath, width, height);
+        }
+        return new PngScanlineWriter(filePath, width, height);
+    }
+
+    /**
+     * writes the next row of the image
+     *
+     * @param rgb three bytes (red, green, blue) for each pixel of the row
+     * @throws IOException if the row cannot be written
+     */
+    void writeRow(byte[] rgb) throws IOException;
+
+    /**
+     * finishes the image and closes the file
+     *
+     * @throws IOException if the end of the image cannot be written
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,67 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * converts a sequence of adjacent cells into F, L and R moves
+ */
+public class CellPath {
+
+    private CellPath() {
+    }
+
+    /**
+     * builds the moves that walk through the cells in order, turning in place
+     * before each step (a reversal is two left turns, like the strategies do)
+     *
+     * @param cells            cell indices (y * cols + x), each adjacent to the next
+     * @param count            the number of cells to use from the array
+     * @param cols             the number of columns in the maze
+     * @param startDirection   the heading on the first cell: 0=right, 1=down,
+     *                         2=left, 3=up
+     * @return the list of moves
+     */
+    public static List<String> toMoves(int[] cells, int count, int cols, int startDirection) {
+        List<String> moves = new ArrayList<>(Math.max(0, count * 2));
+        int direction = startDirection;
+        for (int i = 1; i < count; i++) {
+            int next = directionBetween(cells[i - 1], cells[i], cols);
+            int turns = (next - direction + 4) % 4;
+            if (turns == 1) {
+                moves.add("R");
+            } else if (turns == 2) {
+                moves.add("L");
+                moves.add("L");
+            } else if (turns == 3) {
+                moves.add("L");
+            }
+            moves.add("F");
+            direction = next;
+        }
+        return moves;
+    }
+
+    /**
+     * gets the direction of a step between two adjacent cells
+     *
+     * @param from the cell index before the step
+     * @param to   the cell index after the step
+     * @param cols the number of columns in the maze
+     * @return 0=right, 1=down, 2=left, 3=up
+     */
+    public static int directionBetween(int from, int to, int cols) {
+        int delta = to - from;
+        // vertical first so a single-column maze is not read as horizontal steps
+        if (delta == cols) {
+            return 1;
+        } else if (delta == -cols) {
+            return 3;
+        } else if (delta == 1) {
+            return 0;
+        } else if (delta == -1) {
+            return 2;
+        }
+        throw new IllegalArgumentException("Cells " + from + " and " + to + " are not adjacent");
+    }
+}
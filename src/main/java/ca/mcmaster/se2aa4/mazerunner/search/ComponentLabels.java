@@ -0,0 +1,165 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * labels the connected groups of passages of a maze with union-find: bands of
+ * rows are labelled in parallel, then the bands are joined along the rows
+ * where they meet, so any two cells can be checked for a path in constant time;
+ * the labels take one int per cell (see BYTES_PER_CELL), and the array of
+ * labels dropped by an earlier maze can be handed in to be filled again
+ */
+public class ComponentLabels {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final int WALL = -1;
+    public static final int BYTES_PER_CELL = Integer.BYTES;
+    private static final int MIN_BAND_ROWS = 64;
+
+    private final GridGraph graph;
+    // union-find parents while building, then the root of every cell (WALL for walls)
+    private final int[] labels;
+    private final int componentCount;
+
+    public ComponentLabels(Maze maze) {
+        this(maze, null);
+    }
+
+    /**
+     * labels a maze, filling the given array when it is large enough
+     *
+     * @param maze    the maze to label
+     * @param storage the labels of a maze no longer in use (see getStorage), or null
+     */
+    public ComponentLabels(Maze maze, int[] storage) {
+        this.graph = new GridGraph(maze);
+        int rows = graph.getRows();
+        int cols = graph.getCols();
+        int cellCount = graph.getCellCount();
+        this.labels = storage != null && storage.length >= cellCount ? storage : new int[cellCount];
+
+        int bands = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, rows / MIN_BAND_ROWS));
+        int[] bandStarts = new int[bands + 1];
+        for (int band = 0; band <= bands; band++) {
+            bandStarts[band] = (int) ((long) rows * band / bands);
+        }
+
+        // each band only links cells of its own rows, so the bands never write to the same entries
+        IntStream.range(0, bands).parallel().forEach(band -> labelBand(bandStarts[band], bandStarts[band + 1]));
+
+        // join every band to the one above it along their shared edge
+        for (int band = 1; band < bands; band++) {
+            int y = bandStarts[band];
+            for (int x = 0; x < cols; x++) {
+                int cell = y * cols + x;
+                if (labels[cell] != WALL && labels[cell - cols] != WALL) {
+                    union(cell, cell - cols);
+                }
+            }
+        }
+
+        // replace parents by roots in place: a parent always has a smaller index than its child,
+        // so going up through the cells finds every parent already replaced by its root
+        int count = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int parent = labels[cell];
+            if (parent == cell) {
+                count++;
+            } else if (parent != WALL) {
+                labels[cell] = labels[parent];
+            }
+        }
+        this.componentCount = count;
+        logger.info("Labelled {} components in {} row bands", componentCount, bands);
+    }
+
+    // union-find over the rows [from, to), linking each passage to its left and upper neighbours
+    private void labelBand(int from, int to) {
+        int cols = graph.getCols();
+        for (int y = from; y < to; y++) {
+            for (int x = 0; x < cols; x++) {
+                int cell = y * cols + x;
+                if (!graph.isOpen(cell)) {
+                    labels[cell] = WALL;
+                    continue;
+                }
+                labels[cell] = cell;
+                if (x > 0 && labels[cell - 1] != WALL) {
+                    union(cell, cell - 1);
+                }
+                if (y > from && labels[cell - cols] != WALL) {
+                    union(cell, cell - cols);
+                }
+            }
+        }
+    }
+
+    // finds the root with path halving
+    private int find(int cell) {
+        while (labels[cell] != cell) {
+            labels[cell] = labels[labels[cell]];
+            cell = labels[cell];
+        }
+        return cell;
+    }
+
+    // links two sets under the smaller root, which keeps every root inside the band that made it
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA < rootB) {
+            labels[rootB] = rootA;
+        } else if (rootB < rootA) {
+            labels[rootA] = rootB;
+        }
+    }
+
+    /**
+     * gets the component of a cell
+     *
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return a label shared by every cell of the component, WALL for walls
+     */
+    public int getLabel(int x, int y) {
+        return labels[y * graph.getCols() + x];
+    }
+
+    /**
+     * checks whether a path exists between two cells
+     *
+     * @param from a position (x, y)
+     * @param to   another position (x, y)
+     * @return true if both are passages of the same component
+     */
+    public boolean isConnected(int[] from, int[] to) {
+        if (from == null || to == null) {
+            return false;
+        }
+        int label = getLabel(from[0], from[1]);
+        return label != WALL && label == getLabel(to[0], to[1]);
+    }
+
+    /**
+     * gets the label array, which may be longer than the maze, so that the
+     * labels of the next maze can be built in it once these are dropped
+     *
+     * @return the array of labels
+     */
+    public int[] getStorage() {
+        return labels;
+    }
+
+    /**
+     * counts the separate groups of passages
+     *
+     * @return the number of components
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -0,0 +1,281 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * answers point-to-point shortest path queries on a fixed maze using A* with
+ * landmark lower bounds (ALT): BFS distances from a few far-apart landmarks
+ * are computed once, and the triangle inequality on them guides every query
+ */
+public class DistanceOracle {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private final GridGraph graph;
+    // landmarkDistances[k][cell] is the BFS distance from landmark k
+    private final int[][] landmarkDistances;
+    // per-thread search state so queries can run concurrently
+    private final ThreadLocal<Scratch> scratch;
+
+    public DistanceOracle(Maze maze) {
+        this(maze, DEFAULT_LANDMARKS);
+    }
+
+    public DistanceOracle(Maze maze, int landmarkCount) {
+        this.graph = new GridGraph(maze);
+        int cells = graph.getCellCount();
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(cells));
+        this.landmarkDistances = new int[Math.max(1, landmarkCount)][];
+
+        // farthest-point selection: each landmark is the cell farthest from the ones picked so far
+        int[] queue = new int[cells];
+        int[] nearest = new int[cells];
+        Arrays.fill(nearest, UNREACHABLE);
+        int first = graph.cellOf(maze.getLeftOpening());
+        int[] fromEntrance = bfs(first == GridGraph.NONE ? firstOpenCell() : first, queue);
+        int landmark = farthest(fromEntrance);
+        for (int k = 0; k < landmarkDistances.length; k++) {
+            landmarkDistances[k] = landmark == GridGraph.NONE ? fromEntrance : bfs(landmark, queue);
+            for (int cell = 0; cell < cells; cell++) {
+                nearest[cell] = Math.min(nearest[cell], landmarkDistances[k][cell]);
+            }
+            landmark = farthest(nearest);
+        }
+        logger.info("Distance oracle built with {} landmarks over {} cells", landmarkDistances.length, cells);
+    }
+
+    private int firstOpenCell() {
+        for (int cell = 0; cell < graph.getCellCount(); cell++) {
+            if (graph.isOpen(cell)) {
+                return cell;
+            }
+        }
+        return GridGraph.NONE;
+    }
+
+    // breadth-first distances from one cell
+    private int[] bfs(int source, int[] queue) {
+        int[] distance = new int[graph.getCellCount()];
+        Arrays.fill(distance, UNREACHABLE);
+        if (source == GridGraph.NONE) {
+            return distance;
+        }
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && distance[next] == UNREACHABLE) {
+                    distance[next] = distance[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+
+    // cell with the largest finite distance, NONE if nothing is reachable
+    private static int farthest(int[] distance) {
+        int best = GridGraph.NONE;
+        for (int cell = 0; cell < distance.length; cell++) {
+            if (distance[cell] != UNREACHABLE && (best == GridGraph.NONE || distance[cell] > distance[best])) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * gets the shortest distance between two cells
+     *
+     * @param from the start position (x, y)
+     * @param to   the target position (x, y)
+     * @return the number of steps, or -1 if the target cannot be reached
+     */
+    public int distance(int[] from, int[] to) {
+        Scratch state = scratch.get();
+        int target = search(graph.cellOf(from), graph.cellOf(to), state);
+        return target == GridGraph.NONE ? -1 : state.cost[target];
+    }
+
+    /**
+     * finds a shortest path between two cells, starting facing right
+     *
+     * @param from the start position (x, y)
+     * @param to   the target position (x, y)
+     * @return the moves (F, L, R), or null if the target cannot be reached
+     */
+    public List<String> findPath(int[] from, int[] to) {
+        return findPath(from, to, 0);
+    }
+
+    /**
+     * finds a shortest path between two cells
+     *
+     * @param from           the start position (x, y)
+     * @param to             the target position (x, y)
+     * @param startDirection the heading at the start: 0=right, 1=down, 2=left, 3=up
+     * @return the moves (F, L, R), or null if the target cannot be reached
+     */
+    public List<String> findPath(int[] from, int[] to, int startDirection) {
+        Scratch state = scratch.get();
+        int target = search(graph.cellOf(from), graph.cellOf(to), state);
+        if (target == GridGraph.NONE) {
+            return null;
+        }
+        int length = state.cost[target];
+        int[] cells = new int[length + 1];
+        int cell = target;
+        for (int i = length; i >= 0; i--) {
+            cells[i] = cell;
+            cell = state.parent[cell];
+        }
+        return CellPath.toMoves(cells, cells.length, graph.getCols(), startDirection);
+    }
+
+    // A* search, returns the target cell once settled or NONE when unreachable
+    private int search(int source, int target, Scratch state) {
+        if (source == GridGraph.NONE || target == GridGraph.NONE || !graph.isOpen(source) || !graph.isOpen(target)) {
+            return GridGraph.NONE;
+        }
+        // a landmark that reaches exactly one of the two cells proves they are disconnected
+        for (int[] distance : landmarkDistances) {
+            if ((distance[source] == UNREACHABLE) != (distance[target] == UNREACHABLE)) {
+                return GridGraph.NONE;
+            }
+        }
+
+        state.begin();
+        state.setCost(source, 0, GridGraph.NONE);
+        state.heap.push(((long) bound(source, target)) << 32 | source);
+        while (!state.heap.isEmpty()) {
+            long entry = state.heap.pop();
+            int current = (int) entry;
+            int estimate = (int) (entry >>> 32);
+            if (estimate > state.cost[current] + bound(current, target)) {
+                continue; // stale heap entry
+            }
+            if (current == target) {
+                return target;
+            }
+            int nextCost = state.cost[current] + 1;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && (!state.isSeen(next) || nextCost < state.cost[next])) {
+                    state.setCost(next, nextCost, current);
+                    state.heap.push(((long) (nextCost + bound(next, target))) << 32 | next);
+                }
+            }
+        }
+        return GridGraph.NONE;
+    }
+
+    // lower bound on the distance between two cells from the triangle inequality
+    private int bound(int cell, int target) {
+        int best = 0;
+        for (int[] distance : landmarkDistances) {
+            int a = distance[cell];
+            int b = distance[target];
+            if (a != UNREACHABLE && b != UNREACHABLE) {
+                best = Math.max(best, Math.abs(a - b));
+            }
+        }
+        return best;
+    }
+
+    // search arrays reset with an epoch stamp between queries
+    private static class Scratch {
+        private final int[] cost;
+        private final int[] parent;
+        private final int[] stamps;
+        private int epoch = 0;
+        private final LongHeap heap = new LongHeap();
+
+        Scratch(int cells) {
+            this.cost = new int[cells];
+            this.parent = new int[cells];
+            this.stamps = new int[cells];
+        }
+
+        void begin() {
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                epoch = 0;
+            }
+            epoch++;
+            heap.clear();
+        }
+
+        boolean isSeen(int cell) {
+            return stamps[cell] == epoch;
+        }
+
+        void setCost(int cell, int value, int from) {
+            stamps[cell] = epoch;
+            cost[cell] = value;
+            parent[cell] = from;
+        }
+    }
+
+    // binary min-heap of longs, ordered by the high (priority) half
+    private static class LongHeap {
+        private long[] items = new long[64];
+        private int size = 0;
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(long item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+                if (items[parentIndex] <= item) {
+                    break;
+                }
+                items[index] = items[parentIndex];
+                index = parentIndex;
+            }
+            items[index] = item;
+        }
+
+        long pop() {
+            long top = items[0];
+            long last = items[--size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && items[child + 1] < items[child]) {
+                    child++;
+                }
+                if (items[child] >= last) {
+                    break;
+                }
+                items[index] = items[child];
+                index = child;
+            }
+            items[index] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * shortest-path solver that keeps its BFS distances from the entrance and
+ * repairs only the cells affected when walls are toggled
+ */
+public class DynamicSolver {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final GridGraph graph;
+    private final int source;
+    private final int target;
+
+    // distance from the entrance for every cell, UNREACHABLE for walls and cut-off cells
+    private final int[] distance;
+    // cells invalidated by the current wall insertion, marked with the edit number
+    private final int[] invalidated;
+    private int edit = 0;
+    // work queues reused by every repair
+    private int[] queue;
+    private long[] seeds = new long[16];
+
+    public DynamicSolver(Maze maze) {
+        this.graph = new GridGraph(maze);
+        this.source = graph.cellOf(maze.getLeftOpening());
+        this.target = graph.cellOf(maze.getRightOpening());
+        this.distance = new int[graph.getCellCount()];
+        this.invalidated = new int[graph.getCellCount()];
+        this.queue = new int[Math.max(16, graph.getCellCount())];
+        solve();
+    }
+
+    // full breadth-first search from the entrance
+    private void solve() {
+        Arrays.fill(distance, UNREACHABLE);
+        if (source == GridGraph.NONE || !graph.isOpen(source)) {
+            logger.error("Entrance is missing or walled, nothing is reachable");
+            return;
+        }
+        distance[source] = 0;
+        queue[0] = source;
+        relax(0, 1);
+        logger.info("Initial solve done, exit distance: {}", getDistance());
+    }
+
+    /**
+     * toggles a cell of the maze and repairs the distances around it
+     *
+     * @param x    the column of the cell
+     * @param y    the row of the cell
+     * @param wall true to build a wall, false to open a passage
+     */
+    public void setWall(int x, int y, boolean wall) {
+        Maze maze = graph.getMaze();
+        if (maze.isWall(x, y) == wall) {
+            return;
+        }
+        maze.setWall(x, y, wall);
+        int cell = y * graph.getCols() + x;
+        if (wall) {
+            removeCell(cell);
+        } else {
+            addCell(cell);
+        }
+    }
+
+    // a new passage can only shorten distances, spread the improvement outwards from it
+    private void addCell(int cell) {
+        int best = cell == source ? 0 : UNREACHABLE;
+        for (int dir = 0; dir < 4; dir++) {
+            int next = graph.openNeighbor(cell, dir);
+            if (next != GridGraph.NONE && distance[next] != UNREACHABLE) {
+                best = Math.min(best, distance[next] + 1);
+            }
+        }
+        if (best == UNREACHABLE) {
+            return; // still cut off from the entrance
+        }
+        distance[cell] = best;
+        queue[0] = cell;
+        int touched = relax(0, 1);
+        logger.info("Opened cell {}, {} cells updated", cell, touched);
+    }
+
+    // a new wall can only lengthen distances: drop every cell that lost all its
+    // shortest-path parents, then rebuild those cells from their intact border
+    private void removeCell(int cell) {
+        int oldDistance = distance[cell];
+        distance[cell] = UNREACHABLE;
+        if (oldDistance == UNREACHABLE) {
+            return;
+        }
+        edit++;
+        invalidated[cell] = edit;
+
+        // level by level, so a cell is checked only after all cells one step closer were
+        int head = 0;
+        int tail = 0;
+        int count = 0;
+        queue[tail++] = cell;
+        int[] oldDistances = new int[16];
+        oldDistances[0] = oldDistance;
+        int[] lost = new int[16];
+        lost[count++] = cell;
+        while (head < tail) {
+            int current = queue[head];
+            int currentDistance = oldDistances[head];
+            head++;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next == GridGraph.NONE || invalidated[next] == edit
+                        || distance[next] != currentDistance + 1 || hasParent(next)) {
+                    continue;
+                }
+                invalidated[next] = edit;
+                if (tail == oldDistances.length) {
+                    oldDistances = Arrays.copyOf(oldDistances, tail * 2);
+                }
+                oldDistances[tail] = distance[next];
+                queue[tail++] = next;
+                distance[next] = UNREACHABLE;
+                if (count == lost.length) {
+                    lost = Arrays.copyOf(lost, count * 2);
+                }
+                lost[count++] = next;
+            }
+        }
+
+        // seed each lost cell from its best intact neighbour and relax in distance order
+        int seedCount = 0;
+        for (int i = 1; i < count; i++) {
+            int lostCell = lost[i];
+            int best = UNREACHABLE;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(lostCell, dir);
+                if (next != GridGraph.NONE && distance[next] != UNREACHABLE) {
+                    best = Math.min(best, distance[next] + 1);
+                }
+            }
+            if (best != UNREACHABLE) {
+                if (seedCount == seeds.length) {
+                    seeds = Arrays.copyOf(seeds, seedCount * 2);
+                }
+                seeds[seedCount++] = ((long) best << 32) | lostCell;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+        int touched = relaxFromSeeds(seedCount);
+        logger.info("Walled cell {}, {} cells invalidated, {} restored", cell, count, touched);
+    }
+
+    // true when the cell still has an open neighbour exactly one step closer to the entrance
+    private boolean hasParent(int cell) {
+        if (cell == source) {
+            return true;
+        }
+        int wanted = distance[cell] - 1;
+        for (int dir = 0; dir < 4; dir++) {
+            int next = graph.openNeighbor(cell, dir);
+            if (next != GridGraph.NONE && invalidated[next] != edit && distance[next] == wanted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // breadth-first relaxation of the cells already in the queue, returns the number of cells lowered
+    private int relax(int head, int tail) {
+        int touched = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            int nextDistance = distance[current] + 1;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && nextDistance < distance[next]) {
+                    distance[next] = nextDistance;
+                    queue[tail++] = next;
+                    touched++;
+                }
+            }
+        }
+        return touched;
+    }
+
+    // unit-weight Dijkstra: merges the sorted seeds with a FIFO queue, both in distance order
+    private int relaxFromSeeds(int seedCount) {
+        int touched = 0;
+        int seedIndex = 0;
+        int head = 0;
+        int tail = 0;
+        while (seedIndex < seedCount || head < tail) {
+            int current;
+            boolean takeSeed = head == tail
+                    || (seedIndex < seedCount && (int) (seeds[seedIndex] >>> 32) <= distance[queue[head]]);
+            if (takeSeed) {
+                int seedDistance = (int) (seeds[seedIndex] >>> 32);
+                current = (int) seeds[seedIndex++];
+                if (seedDistance >= distance[current]) {
+                    continue; // already reached by a shorter route
+                }
+                distance[current] = seedDistance;
+                touched++;
+            } else {
+                current = queue[head++];
+            }
+
+            int nextDistance = distance[current] + 1;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && nextDistance < distance[next]) {
+                    distance[next] = nextDistance;
+                    queue[tail++] = next;
+                    touched++;
+                }
+            }
+        }
+        return touched;
+    }
+
+    /**
+     * gets the length of the shortest path from the entrance to the exit
+     *
+     * @return the number of steps, or -1 when the exit cannot be reached
+     */
+    public int getDistance() {
+        if (target == GridGraph.NONE || distance[target] == UNREACHABLE) {
+            return -1;
+        }
+        return distance[target];
+    }
+
+    /**
+     * gets the current shortest path, starting on the entrance facing right
+     *
+     * @return the moves (F, L, R), empty when the exit cannot be reached
+     */
+    public List<String> getPath() {
+        int length = getDistance();
+        if (length < 0) {
+            return Collections.emptyList();
+        }
+        int[] cells = new int[length + 1];
+        int cell = target;
+        cells[length] = cell;
+        for (int i = length - 1; i >= 0; i--) {
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(cell, dir);
+                if (next != GridGraph.NONE && distance[next] == distance[cell] - 1) {
+                    cell = next;
+                    break;
+                }
+            }
+            cells[i] = cell;
+        }
+        return CellPath.toMoves(cells, cells.length, graph.getCols(), 0);
+    }
+}
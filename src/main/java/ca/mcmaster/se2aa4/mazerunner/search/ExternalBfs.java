@@ -0,0 +1,179 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * breadth-first search for mazes too big for the in-memory searches: each
+ * level of the frontier is streamed to a file and read back once to build
+ * the next, and the marks recording where every cell was reached from live in
+ * a {@link PagedMarks} file, so memory stays under a fixed cap and the I/O is
+ * one sequential pass per level plus page swaps for the marks
+ *
+ * <p>cells are numbered with longs (y * cols + x), so the maze may hold more
+ * than 2^31 cells
+ */
+public class ExternalBfs implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // marks: 0 unvisited, 1 + the direction a cell was entered in, SOURCE for the start
+    private static final int SOURCE = 5;
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final Maze maze;
+    private final Path workDir;
+    private final PagedMarks marks;
+    private final long cols;
+    private int levels = 0;
+
+    /**
+     * prepares the files of a search in a new directory under workDir
+     *
+     * @param maze        the maze to search
+     * @param workDir     where the frontier and mark files go
+     * @param memoryBytes the memory the search may use for pages and buffers
+     * @throws IOException if the files cannot be created
+     */
+    public ExternalBfs(Maze maze, Path workDir, long memoryBytes) throws IOException {
+        this.maze = maze;
+        this.cols = maze.getCols();
+        this.workDir = Files.createTempDirectory(workDir, "maze-bfs");
+        // two frontier streams, each with a read or write buffer, take their share first
+        long pageBudget = Math.max(0, memoryBytes - 4L * BUFFER_SIZE);
+        int maxPages = (int) Math.max(2, Math.min(Integer.MAX_VALUE, pageBudget / PagedMarks.PAGE_BYTES));
+        this.marks = new PagedMarks(this.workDir.resolve("marks.bin"), maxPages);
+        logger.info("External search in {} with {} pages of marks in memory", this.workDir, maxPages);
+    }
+
+    /**
+     * finds a shortest path between two cells
+     *
+     * @param from the start (x, y)
+     * @param to   the goal (x, y)
+     * @return the cells of the path from start to goal, null if the goal
+     *         cannot be reached
+     * @throws IOException if a frontier or mark file fails
+     */
+    public long[] findPath(int[] from, int[] to) throws IOException {
+        long source = from[1] * cols + from[0];
+        long target = to[1] * cols + to[0];
+        Path current = workDir.resolve("frontier-a.bin");
+        Path next = workDir.resolve("frontier-b.bin");
+
+        marks.set(source, SOURCE);
+        try (DataOutputStream out = open(current)) {
+            out.writeLong(source);
+        }
+        long size = 1;
+        levels = 0;
+        boolean found = source == target;
+        while (!found && size > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("External search cancelled at level " + levels);
+            }
+            long nextSize = 0;
+            try (DataInputStream in = read(current); DataOutputStream out = open(next)) {
+                for (long i = 0; i < size && !found; i++) {
+                    long cell = in.readLong();
+                    int x = (int) (cell % cols);
+                    int y = (int) (cell / cols);
+                    for (int dir = 0; dir < 4; dir++) {
+                        int nx = x + DX[dir];
+                        int ny = y + DY[dir];
+                        if (nx < 0 || nx >= cols || ny < 0 || ny >= maze.getRows() || maze.isWall(nx, ny)) {
+                            continue;
+                        }
+                        long neighbour = ny * cols + nx;
+                        if (marks.get(neighbour) != 0) {
+                            continue;
+                        }
+                        marks.set(neighbour, 1 + dir);
+                        if (neighbour == target) {
+                            found = true;
+                            break;
+                        }
+                        out.writeLong(neighbour);
+                        nextSize++;
+                    }
+                }
+            }
+            levels++;
+            Path swap = current;
+            current = next;
+            next = swap;
+            size = nextSize;
+        }
+        logger.info("External search {} the goal after {} levels ({} page reads, {} page writes)",
+                found ? "reached" : "did not reach", levels, marks.getPageReads(), marks.getPageWrites());
+        return found ? tracePath(source, target) : null;
+    }
+
+    // walks the marks back from the goal, each mark names the step that entered the cell
+    private long[] tracePath(long source, long target) {
+        long[] cells = new long[levels + 1];
+        int count = 0;
+        long cell = target;
+        cells[count++] = cell;
+        while (cell != source) {
+            int dir = marks.get(cell) - 1;
+            cell -= DY[dir] * cols + DX[dir];
+            if (count == cells.length) {
+                cells = Arrays.copyOf(cells, count * 2);
+            }
+            cells[count++] = cell;
+        }
+        long[] path = new long[count];
+        for (int i = 0; i < count; i++) {
+            path[i] = cells[count - 1 - i];
+        }
+        return path;
+    }
+
+    /**
+     * counts the levels expanded by the last search, the length of the path
+     * when the goal was reached
+     *
+     * @return the number of levels
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * gets the file backed marks, for their page counters
+     *
+     * @return the marks of the search
+     */
+    public PagedMarks getMarks() {
+        return marks;
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static DataInputStream read(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        marks.close();
+        Files.deleteIfExists(workDir.resolve("frontier-a.bin"));
+        Files.deleteIfExists(workDir.resolve("frontier-b.bin"));
+        Files.deleteIfExists(workDir);
+    }
+}
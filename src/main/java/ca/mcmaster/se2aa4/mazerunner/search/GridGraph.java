@@ -0,0 +1,86 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+
+/**
+ * view of a maze as a graph of cells indexed by y * cols + x, with edges
+ * between adjacent passages
+ */
+public class GridGraph {
+
+    public static final int NONE = -1;
+
+    private final Maze maze;
+    private final int rows;
+    private final int cols;
+
+    public GridGraph(Maze maze) {
+        if ((long) maze.getRows() * maze.getCols() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Maze is too large to index: " + maze.getRows() + "x" + maze.getCols());
+        }
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+    }
+
+    /**
+     * gets the cell next to another one in a direction, ignoring walls
+     *
+     * @param cell      the cell index
+     * @param direction 0=right, 1=down, 2=left, 3=up
+     * @return the neighbouring cell index, or NONE past the border
+     */
+    public int neighbor(int cell, int direction) {
+        int x = cell % cols;
+        int y = cell / cols;
+        if (direction == 0) {
+            return x + 1 < cols ? cell + 1 : NONE;
+        } else if (direction == 1) {
+            return y + 1 < rows ? cell + cols : NONE;
+        } else if (direction == 2) {
+            return x > 0 ? cell - 1 : NONE;
+        }
+        return y > 0 ? cell - cols : NONE;
+    }
+
+    /**
+     * gets the open cell next to another one in a direction
+     *
+     * @param cell      the cell index
+     * @param direction 0=right, 1=down, 2=left, 3=up
+     * @return the neighbouring passage, or NONE for walls and the border
+     */
+    public int openNeighbor(int cell, int direction) {
+        int next = neighbor(cell, direction);
+        return next != NONE && isOpen(next) ? next : NONE;
+    }
+
+    public boolean isOpen(int cell) {
+        return !maze.isWall(cell % cols, cell / cols);
+    }
+
+    public int cellOf(int[] position) {
+        return position == null ? NONE : position[1] * cols + position[0];
+    }
+
+    public int[] positionOf(int cell) {
+        return new int[] { cell % cols, cell / cols };
+    }
+
+    public int getCellCount() {
+        return rows * cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public Maze getMaze() {
+        return maze;
+    }
+}
@@ -0,0 +1,137 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * finds the closest entrance-exit pair among many openings with a single
+ * breadth-first search started from every entrance at once: the first exit
+ * reached is the nearest one to any entrance
+ */
+public class MultiSourceSolver {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // parent of a cell not reached yet, sources have NONE as parent
+    private static final int UNSEEN = -2;
+
+    private final Maze maze;
+    private final GridGraph graph;
+
+    public MultiSourceSolver(Maze maze) {
+        this.maze = maze;
+        this.graph = new GridGraph(maze);
+    }
+
+    /**
+     * solves between every opening of the left border and every opening of
+     * the right border
+     *
+     * @return the shortest route, or null if no exit can be reached
+     */
+    public Result solve() {
+        return solve(maze.getLeftOpenings(), maze.getRightOpenings());
+    }
+
+    /**
+     * finds the shortest path from any of the sources to any of the targets
+     *
+     * @param sources the start positions (x, y), the path starts facing right
+     * @param targets the goal positions (x, y)
+     * @return the shortest route, or null if no target can be reached
+     */
+    public Result solve(List<int[]> sources, List<int[]> targets) {
+        int cells = graph.getCellCount();
+        boolean[] isTarget = new boolean[cells];
+        for (int[] target : targets) {
+            int cell = graph.cellOf(target);
+            if (graph.isOpen(cell)) {
+                isTarget[cell] = true;
+            }
+        }
+
+        int[] parent = new int[cells];
+        Arrays.fill(parent, UNSEEN);
+        int[] queue = new int[cells];
+        int tail = 0;
+        for (int[] source : sources) {
+            int cell = graph.cellOf(source);
+            if (graph.isOpen(cell) && parent[cell] == UNSEEN) {
+                parent[cell] = GridGraph.NONE;
+                queue[tail++] = cell;
+            }
+        }
+
+        int head = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            if (isTarget[current]) {
+                return buildResult(current, parent);
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && parent[next] == UNSEEN) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        logger.error("None of the {} targets is reachable from the {} sources", targets.size(), sources.size());
+        return null;
+    }
+
+    // walks the parents back to the source the exit was reached from
+    private Result buildResult(int exit, int[] parent) {
+        int length = 0;
+        for (int cell = exit; parent[cell] != GridGraph.NONE; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length + 1];
+        int cell = exit;
+        for (int i = length; i >= 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+        Result result = new Result(graph.positionOf(path[0]), graph.positionOf(exit), length,
+                CellPath.toMoves(path, path.length, graph.getCols(), 0));
+        logger.info("Best pair: entrance ({}, {}) to exit ({}, {}), {} steps", result.entrance[0], result.entrance[1],
+                result.exit[0], result.exit[1], length);
+        return result;
+    }
+
+    /**
+     * the openings used by the shortest route and its moves
+     */
+    public static class Result {
+        private final int[] entrance;
+        private final int[] exit;
+        private final int distance;
+        private final List<String> moves;
+
+        Result(int[] entrance, int[] exit, int distance, List<String> moves) {
+            this.entrance = entrance;
+            this.exit = exit;
+            this.distance = distance;
+            this.moves = moves;
+        }
+
+        public int[] getEntrance() {
+            return entrance;
+        }
+
+        public int[] getExit() {
+            return exit;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        public List<String> getMoves() {
+            return moves;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * a 4-bit mark per cell kept in a file, with only a bounded number of pages
+ * of it in memory: the least recently used page is written back when another
+ * one has to be read, so memory use is fixed whatever the maze size
+ *
+ * <p>pages are plain heap arrays moved with positional reads and writes
+ * rather than mapped buffers, which the JDK only unmaps when they are
+ * collected and so would not keep to the cap
+ */
+public class PagedMarks implements AutoCloseable {
+
+    public static final int PAGE_BYTES = 1 << 16;
+    // two marks per byte
+    private static final long CELLS_PER_PAGE = PAGE_BYTES * 2L;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int maxPages;
+    private final Map<Long, Page> pages;
+
+    private long lastPageIndex = -1;
+    private Page lastPage;
+    private long pageReads = 0;
+    private long pageWrites = 0;
+
+    /**
+     * creates the backing file, every mark starts at 0
+     *
+     * @param file     the file to keep the marks in, deleted on close
+     * @param maxPages the number of pages of PAGE_BYTES bytes kept in memory
+     * @throws IOException if the file cannot be created
+     */
+    public PagedMarks(Path file, int maxPages) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+        this.maxPages = Math.max(1, maxPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * gets the mark of a cell
+     *
+     * @param cell the cell index (y * cols + x)
+     * @return the mark, 0 to 15
+     */
+    public int get(long cell) {
+        Page page = page(cell / CELLS_PER_PAGE);
+        int offset = (int) (cell % CELLS_PER_PAGE);
+        return (page.data[offset >> 1] >> ((offset & 1) * 4)) & 0xf;
+    }
+
+    /**
+     * sets the mark of a cell
+     *
+     * @param cell the cell index (y * cols + x)
+     * @param mark the mark, 0 to 15
+     */
+    public void set(long cell, int mark) {
+        Page page = page(cell / CELLS_PER_PAGE);
+        int offset = (int) (cell % CELLS_PER_PAGE);
+        int shift = (offset & 1) * 4;
+        page.data[offset >> 1] = (byte) ((page.data[offset >> 1] & ~(0xf << shift)) | ((mark & 0xf) << shift));
+        page.dirty = true;
+    }
+
+    private Page page(long index) {
+        if (index == lastPageIndex) {
+            return lastPage;
+        }
+        Page page = pages.get(index);
+        if (page == null) {
+            if (pages.size() >= maxPages) {
+                evictEldest();
+            }
+            page = readPage(index);
+            pages.put(index, page);
+        }
+        lastPageIndex = index;
+        lastPage = page;
+        return page;
+    }
+
+    private void evictEldest() {
+        Map.Entry<Long, Page> eldest = pages.entrySet().iterator().next();
+        if (eldest.getValue().dirty) {
+            writePage(eldest.getKey(), eldest.getValue());
+        }
+        pages.remove(eldest.getKey());
+        if (eldest.getKey() == lastPageIndex) {
+            lastPageIndex = -1;
+            lastPage = null;
+        }
+    }
+
+    // pages never written read back as zeros, the file stays sparse until then
+    private Page readPage(long index) {
+        Page page = new Page();
+        ByteBuffer buffer = ByteBuffer.wrap(page.data);
+        try {
+            long position = index * PAGE_BYTES;
+            if (position < channel.size()) {
+                pageReads++;
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        break; // the end of the page was never written
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read page " + index + " of " + file, e);
+        }
+        return page;
+    }
+
+    private void writePage(long index, Page page) {
+        ByteBuffer buffer = ByteBuffer.wrap(page.data);
+        try {
+            long position = index * PAGE_BYTES;
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+            pageWrites++;
+            page.dirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write page " + index + " of " + file, e);
+        }
+    }
+
+    /**
+     * counts the pages read back from the file
+     *
+     * @return the number of page reads
+     */
+    public long getPageReads() {
+        return pageReads;
+    }
+
+    /**
+     * counts the pages written out to make room for others
+     *
+     * @return the number of page writes
+     */
+    public long getPageWrites() {
+        return pageWrites;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pages.clear();
+        lastPage = null;
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private static class Page {
+        private final byte[] data = new byte[PAGE_BYTES];
+        private boolean dirty = false;
+    }
+}
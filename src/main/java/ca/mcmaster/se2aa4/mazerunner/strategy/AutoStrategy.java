@@ -0,0 +1,65 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.jfr.JfrSupport;
+import ca.mcmaster.se2aa4.mazerunner.jfr.PreprocessEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.List;
+
+/**
+ * measures the maze and hands it to the strategy the rules predict to be
+ * fastest for it
+ */
+public class AutoStrategy implements ExplorationStrategy {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final StrategyRules rules;
+
+    public AutoStrategy() {
+        this(StrategyRules.load());
+    }
+
+    public AutoStrategy(StrategyRules rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
+        // the instance is shared by the thread, so the choice is kept per call
+        String choice = choose(maze);
+        return SolverContext.current().getStrategy(choice).explore(maze, startPos, endPos);
+    }
+
+    /**
+     * measures a maze and picks the strategy for it, as explore does
+     *
+     * @param maze the maze to measure
+     * @return the name of the chosen strategy
+     */
+    public String choose(Maze maze) {
+        PreprocessEvent event = JfrSupport.isRecording() ? new PreprocessEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        MazeFeatures features = MazeFeatures.of(maze);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "features";
+                event.rows = maze.getRows();
+                event.cols = maze.getCols();
+                event.commit();
+            }
+        }
+        String choice = rules.choose(features);
+        logger.info("Maze features: {}, choosing {}", features, choice);
+        return choice;
+    }
+
+    @Override
+    public String getName() {
+        return "Automatic";
+    }
+}
@@ -0,0 +1,250 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * append-only log of the moves of a long exploration, so a later run on the
+ * same maze can continue where the last checkpoint left off
+ *
+ * <p>only moves are stored: replaying them from the entrance rebuilds the
+ * position, the heading and the visit marks, so every checkpoint appends just
+ * the moves made since the previous one. layout (big-endian):
+ * <pre>
+ *   header  magic "MZCK", version (int), maze hash (long), start x, start y (ints),
+ *           strategy name (modified UTF-8)
+ *   record  move count (int), moves packed four per byte (F=0, L=1, R=2),
+ *           CRC32 of the packed bytes (int)
+ * </pre>
+ * a record cut short by a crash fails its length or checksum and is dropped
+ * with everything after it
+ */
+public class CheckpointLog implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final int DEFAULT_INTERVAL = 1 << 20;
+    private static final int MAGIC = 0x4d5a434b; // "MZCK"
+    private static final int VERSION = 1;
+    private static final String[] MOVES = { "F", "L", "R" };
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int interval;
+    private final List<String> resumedMoves;
+    private int savedMoves;
+    private boolean failed = false;
+
+    private CheckpointLog(Path file, FileChannel channel, int interval, List<String> resumedMoves) {
+        this.file = file;
+        this.channel = channel;
+        this.interval = Math.max(1, interval);
+        this.resumedMoves = resumedMoves;
+        this.savedMoves = resumedMoves.size();
+    }
+
+    /**
+     * opens the checkpoint file of an exploration, reading the moves saved by
+     * an earlier run when it was made for the same maze, entrance and strategy,
+     * and starting a new log otherwise
+     *
+     * @param filePath     the checkpoint file
+     * @param maze         the maze being explored
+     * @param start        the entrance (x, y)
+     * @param strategyName the name of the strategy exploring
+     * @param interval     the number of new moves between two checkpoints
+     * @return the log, ready to append
+     * @throws IOException if the file cannot be read or created
+     */
+    public static CheckpointLog open(String filePath, Maze maze, int[] start, String strategyName, int interval)
+            throws IOException {
+        Path file = Paths.get(filePath);
+        byte[] header = header(maze.contentHash(), start, strategyName);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            List<String> moves = new ArrayList<>();
+            long end = 0;
+            if (channel.size() >= header.length && matches(channel, header)) {
+                end = readRecords(channel, header.length, moves);
+                logger.info("Resuming from checkpoint {} with {} moves", filePath, moves.size());
+            } else {
+                if (channel.size() > 0) {
+                    logger.warn("Checkpoint {} was made for another maze or strategy, starting over", filePath);
+                }
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(header), 0);
+                end = header.length;
+            }
+            // drop a record torn by a crash so new records follow the last good one
+            channel.truncate(end);
+            channel.position(end);
+            return new CheckpointLog(file, channel, interval, moves);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * gets the moves saved by the earlier run, to be replayed before exploring
+     *
+     * @return the saved moves, empty for a new log
+     */
+    public List<String> getResumedMoves() {
+        return Collections.unmodifiableList(resumedMoves);
+    }
+
+    /**
+     * appends the moves made since the last checkpoint once enough have piled
+     * up, cheap enough to call after every step; a failed write is logged and
+     * turns checkpointing off for the rest of the run
+     *
+     * @param moves every move of the exploration so far
+     */
+    public void record(List<String> moves) {
+        if (moves.size() - savedMoves >= interval) {
+            save(moves);
+        }
+    }
+
+    /**
+     * appends the moves made since the last checkpoint right away
+     *
+     * @param moves every move of the exploration so far
+     */
+    public void save(List<String> moves) {
+        if (failed || moves.size() <= savedMoves) {
+            return;
+        }
+        int count = moves.size() - savedMoves;
+        byte[] packed = new byte[(count + 3) / 4];
+        for (int i = 0; i < count; i++) {
+            packed[i >> 2] |= (byte) (code(moves.get(savedMoves + i)) << ((i & 3) * 2));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(packed);
+        ByteBuffer record = ByteBuffer.allocate(8 + packed.length);
+        record.putInt(count).put(packed).putInt((int) crc.getValue()).flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+            savedMoves = moves.size();
+            logger.debug("Checkpoint saved at {} moves", savedMoves);
+        } catch (IOException e) {
+            failed = true;
+            logger.error("Failed to write checkpoint {}, continuing without. Error: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * removes the checkpoint once the exploration is done, nothing is left to resume
+     */
+    public void finish() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to remove checkpoint {}. Error: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close checkpoint {}. Error: {}", file, e.getMessage());
+        }
+    }
+
+    private static byte[] header(long mazeHash, int[] start, String strategyName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(mazeHash);
+        out.writeInt(start[0]);
+        out.writeInt(start[1]);
+        out.writeUTF(strategyName);
+        return bytes.toByteArray();
+    }
+
+    private static boolean matches(FileChannel channel, byte[] header) throws IOException {
+        ByteBuffer existing = ByteBuffer.allocate(header.length);
+        readFully(channel, existing, 0);
+        return existing.position() == header.length && ByteBuffer.wrap(header).equals(existing.flip());
+    }
+
+    // reads the complete records after the header, returns the offset after the last good one
+    private static long readRecords(FileChannel channel, long offset, List<String> moves) throws IOException {
+        long size = channel.size();
+        ByteBuffer countBuffer = ByteBuffer.allocate(4);
+        while (offset + 4 <= size) {
+            countBuffer.clear();
+            readFully(channel, countBuffer, offset);
+            int count = countBuffer.flip().getInt();
+            long length = 8L + (count + 3L) / 4;
+            if (count <= 0 || offset + length > size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate((int) length - 4);
+            readFully(channel, record, offset + 4);
+            record.flip();
+            byte[] packed = new byte[record.remaining() - 4];
+            record.get(packed);
+            CRC32 crc = new CRC32();
+            crc.update(packed);
+            if (record.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                int code = (packed[i >> 2] >> ((i & 3) * 2)) & 3;
+                if (code >= MOVES.length) {
+                    throw new IOException("Checkpoint holds an unknown move code " + code);
+                }
+                moves.add(MOVES[code]);
+            }
+            offset += length;
+        }
+        return offset;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+    }
+
+    private static int code(String move) {
+        switch (move) {
+            case "F":
+                return 0;
+            case "L":
+                return 1;
+            case "R":
+                return 2;
+            default:
+                throw new IllegalArgumentException("Unknown move: " + move);
+        }
+    }
+}
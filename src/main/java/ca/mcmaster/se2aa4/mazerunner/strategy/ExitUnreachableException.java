@@ -0,0 +1,13 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+/**
+ * thrown by a strategy that finds out while exploring that the exit cannot be
+ * reached from the entrance, so that the caller reports no path instead of an
+ * empty one
+ */
+public class ExitUnreachableException extends ExplorationFailedException {
+
+    public ExitUnreachableException(String message) {
+        super(message);
+    }
+}
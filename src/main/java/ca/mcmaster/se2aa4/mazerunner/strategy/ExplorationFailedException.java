@@ -0,0 +1,12 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+/**
+ * thrown by a strategy that ends without a path, so that the caller reports the
+ * failure instead of taking an empty list of moves for a solution
+ */
+public class ExplorationFailedException extends RuntimeException {
+
+    public ExplorationFailedException(String message) {
+        super(message);
+    }
+}
@@ -14,7 +14,12 @@ public interface ExplorationStrategy {
      * @param maze     the maze to be explored
      * @param startPos the starting position in the maze
      * @param endPos   the ending position in the maze
-     * @return a list of moves (F, L, R) that solve the maze
+     * @return a new list of moves (F, L, R) that solve the maze, owned by the
+     *         caller
+     * @throws ExitUnreachableException   if the strategy finds that the exit
+     *                                    cannot be reached
+     * @throws ExplorationFailedException if the strategy ends without a path for
+     *                                    another reason
      */
     List<String> explore(Maze maze, int[] startPos, int[] endPos);
 
@@ -0,0 +1,82 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.search.ExternalBfs;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * shortest path search that keeps its frontier and visited marks on disk, for
+ * mazes whose search state does not fit in memory; the memory cap and the
+ * directory for the files are set with -Dmazerunner.external.memory (in MiB,
+ * 64 by default) and -Dmazerunner.external.dir (the temp directory by default)
+ */
+public class ExternalMemoryStrategy implements ExplorationStrategy {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final long DEFAULT_MEMORY_MIB = 64;
+
+    private final Path workDir;
+    private final long memoryBytes;
+
+    public ExternalMemoryStrategy() {
+        this(Paths.get(System.getProperty("mazerunner.external.dir", System.getProperty("java.io.tmpdir"))),
+                Long.getLong("mazerunner.external.memory", DEFAULT_MEMORY_MIB) << 20);
+    }
+
+    public ExternalMemoryStrategy(Path workDir, long memoryBytes) {
+        this.workDir = workDir;
+        this.memoryBytes = memoryBytes;
+    }
+
+    @Override
+    public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
+        logger.info("Starting external memory search from: ({}, {}) with {} bytes of memory", startPos[0],
+                startPos[1], memoryBytes);
+        long[] cells;
+        try (ExternalBfs search = new ExternalBfs(maze, workDir, memoryBytes)) {
+            cells = search.findPath(startPos, endPos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("External search failed in " + workDir, e);
+        }
+        if (cells == null) {
+            throw new ExitUnreachableException(
+                    "The exit is not reachable from (" + startPos[0] + ", " + startPos[1] + ")");
+        }
+        List<String> moves = new ArrayList<>();
+
+        // the same moves CellPath builds, from long cell indices: turn in place, then step
+        long cols = maze.getCols();
+        int direction = 0;
+        for (int i = 1; i < cells.length; i++) {
+            long delta = cells[i] - cells[i - 1];
+            int next = delta == cols ? 1 : delta == -cols ? 3 : delta == 1 ? 0 : 2;
+            int turns = (next - direction + 4) % 4;
+            if (turns == 1) {
+                moves.add("R");
+            } else if (turns == 2) {
+                moves.add("L");
+                moves.add("L");
+            } else if (turns == 3) {
+                moves.add("L");
+            }
+            moves.add("F");
+            direction = next;
+        }
+
+        logger.info("External memory search completed with {} moves", moves.size());
+        return moves;
+    }
+
+    @Override
+    public String getName() {
+        return "External Memory BFS";
+    }
+}
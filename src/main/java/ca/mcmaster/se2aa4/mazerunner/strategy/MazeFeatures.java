@@ -0,0 +1,134 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+
+/**
+ * cheap structural measures of a maze, computed in one pass over the cells,
+ * used to pick a strategy for it
+ */
+public class MazeFeatures {
+
+    private final int rows;
+    private final int cols;
+    private final long openCells;
+    private final long junctions;
+    private final long deadEnds;
+
+    MazeFeatures(int rows, int cols, long openCells, long junctions, long deadEnds) {
+        this.rows = rows;
+        this.cols = cols;
+        this.openCells = openCells;
+        this.junctions = junctions;
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * measures a maze: open cells, junctions (three or more open neighbours)
+     * and dead ends (exactly one)
+     *
+     * @param maze the maze to measure
+     * @return the features of the maze
+     */
+    public static MazeFeatures of(Maze maze) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        long open = 0;
+        long junctions = 0;
+        long deadEnds = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                if (maze.isWall(x, y)) {
+                    continue;
+                }
+                open++;
+                int neighbours = 0;
+                if (x + 1 < cols && !maze.isWall(x + 1, y)) {
+                    neighbours++;
+                }
+                if (y + 1 < rows && !maze.isWall(x, y + 1)) {
+                    neighbours++;
+                }
+                if (x > 0 && !maze.isWall(x - 1, y)) {
+                    neighbours++;
+                }
+                if (y > 0 && !maze.isWall(x, y - 1)) {
+                    neighbours++;
+                }
+                if (neighbours >= 3) {
+                    junctions++;
+                } else if (neighbours == 1) {
+                    deadEnds++;
+                }
+            }
+        }
+        return new MazeFeatures(rows, cols, open, junctions, deadEnds);
+    }
+
+    /**
+     * gets a feature by the name used in the strategy rules
+     *
+     * @param name one of rows, cols, cells, density, junctionRatio, deadEndRatio
+     * @return the value of the feature
+     * @throws IllegalArgumentException for an unknown feature name
+     */
+    public double getFeature(String name) {
+        switch (name) {
+            case "rows":
+                return rows;
+            case "cols":
+                return cols;
+            case "cells":
+                return (double) rows * cols;
+            case "density":
+                return getOpenDensity();
+            case "junctionRatio":
+                return getJunctionRatio();
+            case "deadEndRatio":
+                return getDeadEndRatio();
+            default:
+                throw new IllegalArgumentException("Unknown maze feature: " + name);
+        }
+    }
+
+    /**
+     * gets the share of the cells that are passages
+     *
+     * @return the open cell density, from 0 to 1
+     */
+    public double getOpenDensity() {
+        long cells = (long) rows * cols;
+        return cells == 0 ? 0 : (double) openCells / cells;
+    }
+
+    /**
+     * gets the share of the passages with three or more open neighbours
+     *
+     * @return the junction ratio, from 0 to 1
+     */
+    public double getJunctionRatio() {
+        return openCells == 0 ? 0 : (double) junctions / openCells;
+    }
+
+    /**
+     * gets the share of the passages with a single open neighbour
+     *
+     * @return the dead-end ratio, from 0 to 1
+     */
+    public double getDeadEndRatio() {
+        return openCells == 0 ? 0 : (double) deadEnds / openCells;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d, density %.2f, junctions %.3f, dead ends %.3f",
+                rows, cols, getOpenDensity(), getJunctionRatio(), getDeadEndRatio());
+    }
+}
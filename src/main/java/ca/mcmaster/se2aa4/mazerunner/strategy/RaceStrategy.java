@@ -0,0 +1,132 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * runs every registered strategy at once on virtual threads and keeps either
+ * the first path found or the shortest one found before the deadline, the
+ * other strategies are interrupted and stop at their next step; a race that
+ * ends without a path throws ExplorationFailedException
+ */
+public class RaceStrategy implements ExplorationStrategy {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+
+    private final boolean keepShortest;
+    private final Duration deadline;
+    // one context per racing strategy, kept across races since each virtual thread runs a single task;
+    // every racer has finished when explore returns, so the next race can take them over
+    private final Map<String, SolverContext> racers = new ConcurrentHashMap<>();
+
+    public RaceStrategy(boolean keepShortest) {
+        this(keepShortest, DEFAULT_DEADLINE);
+    }
+
+    public RaceStrategy(boolean keepShortest, Duration deadline) {
+        this.keepShortest = keepShortest;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
+        List<Callable<List<String>>> runners = new ArrayList<>();
+        for (String name : StrategyFactory.getStrategyNames()) {
+            SolverContext context = racers.computeIfAbsent(name, key -> new SolverContext());
+            runners.add(() -> run(context, name, maze, startPos, endPos));
+        }
+        logger.info("Racing {} strategies, keeping the {} path", runners.size(), keepShortest ? "shortest" : "first");
+
+        // each strategy runs with its own SolverContext, so the strategies share nothing but the maze
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return keepShortest ? shortest(executor, runners) : first(executor, runners);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Strategy race interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ExplorationFailedException failed) {
+                throw failed;
+            }
+            throw new ExplorationFailedException("no strategy found a path: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new ExplorationFailedException("no strategy found a path within " + deadline.toMillis() + " ms");
+        }
+    }
+
+    // the first strategy to reach the exit wins, the others are cancelled; there is no deadline
+    private List<String> first(ExecutorService executor, List<Callable<List<String>>> runners)
+            throws InterruptedException, ExecutionException {
+        return executor.invokeAny(runners);
+    }
+
+    // waits for every strategy until the deadline (race-best only) and keeps the shortest path
+    private List<String> shortest(ExecutorService executor, List<Callable<List<String>>> runners)
+            throws InterruptedException, TimeoutException {
+        List<String> best = null;
+        // strategies still running at the deadline are cancelled by invokeAll
+        for (Future<List<String>> result : executor.invokeAll(runners, deadline.toNanos(), TimeUnit.NANOSECONDS)) {
+            if (result.state() == Future.State.SUCCESS && (best == null || result.resultNow().size() < best.size())) {
+                best = result.resultNow();
+            }
+        }
+        if (best == null) {
+            throw new TimeoutException();
+        }
+        return best;
+    }
+
+    // solves with one strategy in the given context, failing if its moves do not end on the exit
+    private static List<String> run(SolverContext context, String name, Maze maze, int[] startPos, int[] endPos) {
+        SolverContext.bind(context);
+        try {
+            ExplorationStrategy strategy = context.getStrategy(name);
+            List<String> moves = strategy.explore(maze, startPos, endPos);
+            if (!endsAt(moves, startPos, endPos)) {
+                throw new IllegalStateException(strategy.getName() + " did not reach the exit");
+            }
+            logger.info("{} finished with {} moves", strategy.getName(), moves.size());
+            return moves;
+        } finally {
+            context.trim();
+            SolverContext.unbind();
+        }
+    }
+
+    private static boolean endsAt(List<String> moves, int[] startPos, int[] endPos) {
+        int x = startPos[0];
+        int y = startPos[1];
+        int direction = 0;
+        for (String move : moves) {
+            if (move.equals("R")) {
+                direction = (direction + 1) % 4;
+            } else if (move.equals("L")) {
+                direction = (direction + 3) % 4;
+            } else if (move.equals("F")) {
+                x += direction == 0 ? 1 : (direction == 2 ? -1 : 0);
+                y += direction == 1 ? 1 : (direction == 3 ? -1 : 0);
+            }
+        }
+        return x == endPos[0] && y == endPos[1];
+    }
+
+    @Override
+    public String getName() {
+        return keepShortest ? "Race (shortest)" : "Race (first)";
+    }
+}
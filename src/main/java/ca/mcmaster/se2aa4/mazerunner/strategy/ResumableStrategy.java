@@ -0,0 +1,16 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+/**
+ * a strategy whose state can be rebuilt by replaying its moves, so it can
+ * save checkpoints while exploring and continue from one later
+ */
+public interface ResumableStrategy extends ExplorationStrategy {
+
+    /**
+     * sets the log used by the next explorations: its saved moves are replayed
+     * first, then new moves are appended to it as the exploration goes
+     *
+     * @param checkpoint the checkpoint log, null to explore without one
+     */
+    void setCheckpoint(CheckpointLog checkpoint);
+}
@@ -5,11 +5,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * implementation of the right-hand rule maze exploration strategy
  */
-public class RightHandStrategy implements ExplorationStrategy {
+public class RightHandStrategy implements ResumableStrategy {
 
     private static final Logger logger = LogManager.getLogger();
 
@@ -17,16 +18,25 @@ public class RightHandStrategy implements ExplorationStrategy {
     private int direction = 0;
     private int[] currentPos;
     private List<String> moves;
+    private CheckpointLog checkpoint;
 
     @Override
     public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
         logger.info("Starting right-hand rule exploration from: ({}, {})", startPos[0], startPos[1]);
 
         this.currentPos = new int[] { startPos[0], startPos[1] };
+        this.direction = 0; // instances are reused, start facing right every time
         this.moves = new ArrayList<>();
+        if (checkpoint != null) {
+            replay(maze, checkpoint.getResumedMoves());
+        }
 
         // continue exploration until we reach the end position
         while (!hasReachedEnd(endPos)) {
+            if (Thread.currentThread().isInterrupted()) {
+                // cancelled, e.g. another strategy won a race
+                throw new CancellationException("Exploration cancelled at (" + currentPos[0] + ", " + currentPos[1] + ")");
+            }
             if (canMoveRight(maze)) {
                 turnRight();
                 moveForward(maze);
@@ -40,6 +50,9 @@ public class RightHandStrategy implements ExplorationStrategy {
                 turnAround();
                 moveForward(maze);
             }
+            if (checkpoint != null) {
+                checkpoint.record(moves);
+            }
         }
 
         logger.info("Right-hand rule exploration completed at: ({}, {})", currentPos[0], currentPos[1]);
@@ -53,6 +66,25 @@ public class RightHandStrategy implements ExplorationStrategy {
         return "Right Hand Rule";
     }
 
+    @Override
+    public void setCheckpoint(CheckpointLog checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    // applies moves saved by an earlier run, rebuilding the position and heading
+    private void replay(Maze maze, List<String> savedMoves) {
+        for (String move : savedMoves) {
+            if ("F".equals(move)) {
+                moveForward(maze);
+            } else if ("R".equals(move)) {
+                turnRight();
+            } else if ("L".equals(move)) {
+                turnLeft();
+            }
+        }
+        logger.info("Resumed at ({}, {}) after {} saved moves", currentPos[0], currentPos[1], savedMoves.size());
+    }
+
     private boolean hasReachedEnd(int[] endPos) {
         return currentPos[0] == endPos[0] && currentPos[1] == endPos[1];
     }
@@ -0,0 +1,120 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * per-thread scratch space reused across solves: visit marks and the strategy
+ * instances, the arrays grow to the largest maze seen and are reset by bumping
+ * an epoch instead of being cleared; arrays for more than RETAINED_CELLS cells
+ * are dropped by trim so a long-lived thread does not keep them. Moves are not
+ * pooled, they are handed to the caller, who keeps them
+ */
+public class SolverContext {
+
+    private static final ThreadLocal<SolverContext> CURRENT = ThreadLocal.withInitial(SolverContext::new);
+
+    // 8 bytes per cell, so at most 32 MiB stays with a thread between solves
+    public static final int RETAINED_CELLS = 1 << 22;
+
+    // a cell's visit count only counts when its stamp matches the current epoch
+    private int epoch = 0;
+    private int[] stamps = new int[0];
+    private int[] visitCounts = new int[0];
+    private final Map<String, ExplorationStrategy> strategies = new HashMap<>();
+
+    /**
+     * gets the context of the calling thread
+     *
+     * @return the thread's solver context
+     */
+    public static SolverContext current() {
+        return CURRENT.get();
+    }
+
+    // makes the given context the calling thread's, for threads that run one task and end
+    static void bind(SolverContext context) {
+        CURRENT.set(context);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * starts a new solve, all visit marks from earlier solves are dropped
+     *
+     * @param cellCount the number of cells in the maze (rows * cols)
+     */
+    public void begin(int cellCount) {
+        if (stamps.length < cellCount) {
+            stamps = new int[cellCount];
+            visitCounts = new int[cellCount];
+            epoch = 0;
+        }
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0); // only after billions of solves
+            epoch = 0;
+        }
+        epoch++;
+    }
+
+    /**
+     * records a visit to a cell
+     *
+     * @param cell the cell index (y * cols + x)
+     * @return the number of visits including this one
+     */
+    public int addVisit(int cell) {
+        if (stamps[cell] != epoch) {
+            stamps[cell] = epoch;
+            visitCounts[cell] = 1;
+        } else {
+            visitCounts[cell]++;
+        }
+        return visitCounts[cell];
+    }
+
+    /**
+     * gets the number of visits to a cell in the current solve
+     *
+     * @param cell the cell index (y * cols + x)
+     * @return the visit count, 0 if never visited
+     */
+    public int getVisits(int cell) {
+        return stamps[cell] == epoch ? visitCounts[cell] : 0;
+    }
+
+    public boolean isVisited(int cell) {
+        return stamps[cell] == epoch;
+    }
+
+    /**
+     * drops the visit marks if they cover more than RETAINED_CELLS cells, the
+     * next solve allocates them again at its own size
+     */
+    public void trim() {
+        if (stamps.length > RETAINED_CELLS) {
+            stamps = new int[0];
+            visitCounts = new int[0];
+            epoch = 0;
+        }
+    }
+
+    // the number of cells the visit marks currently cover
+    int getCapacity() {
+        return stamps.length;
+    }
+
+    /**
+     * gets this thread's instance of a strategy, creating it on first use
+     *
+     * @param strategyName the name of the strategy
+     * @return the cached strategy
+     */
+    public ExplorationStrategy getStrategy(String strategyName) {
+        String key = strategyName == null ? "" : strategyName.toLowerCase();
+        return strategies.computeIfAbsent(key, StrategyFactory::createStrategy);
+    }
+}
@@ -2,6 +2,7 @@ package ca.mcmaster.se2aa4.mazerunner.strategy;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import java.util.List;
 
 /**
  * factory class for creating exploration strategies
@@ -10,11 +11,18 @@ public class StrategyFactory {
 
     private static final Logger logger = LogManager.getLogger();
 
+    // strategies that solve on their own, raced by "race" and "race-best"
+    private static final List<String> STRATEGY_NAMES = List.of("righthand", "tremaux");
+    // every name createStrategy knows except "auto", which cannot pick itself
+    private static final List<String> SELECTABLE_NAMES = List.of("righthand", "tremaux", "race", "race-best",
+            "external");
+
     /**
      * creates an exploration strategy based on the strategy name
      * 
-     * @param strategyName the name of the strategy to create ("righthand" or
-     *                     "tremaux")
+     * @param strategyName the name of the strategy to create ("righthand",
+     *                     "tremaux", "race", "race-best", "auto" or
+     *                     "external")
      * @return the appropriate exploration strategy implementation
      */
     public static ExplorationStrategy createStrategy(String strategyName) {
@@ -32,9 +40,39 @@ public class StrategyFactory {
             case "tremaux":
                 logger.info("Using Tremaux strategy");
                 return new TremauxStrategy();
+            case "race":
+                logger.info("Using strategy race, first path wins");
+                return new RaceStrategy(false);
+            case "race-best":
+                logger.info("Using strategy race, shortest path wins");
+                return new RaceStrategy(true);
+            case "auto":
+                logger.info("Using automatic strategy selection");
+                return new AutoStrategy();
+            case "external":
+                logger.info("Using external memory strategy");
+                return new ExternalMemoryStrategy();
             default:
                 logger.warn("Unknown strategy: {}, defaulting to right hand rule", strategyName);
                 return new RightHandStrategy();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * gets the names of the strategies that solve a maze on their own
+     *
+     * @return the strategy names
+     */
+    public static List<String> getStrategyNames() {
+        return STRATEGY_NAMES;
+    }
+
+    /**
+     * gets the names the automatic selection rules may pick
+     *
+     * @return the strategy names
+     */
+    public static List<String> getSelectableNames() {
+        return SELECTABLE_NAMES;
+    }
+}
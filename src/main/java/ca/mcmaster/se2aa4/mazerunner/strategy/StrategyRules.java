@@ -0,0 +1,145 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ordered rules mapping maze features to a strategy name, read from a text
+ * file with one "feature op number [and ...] -> strategy" rule per line
+ */
+public class StrategyRules {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final String RESOURCE = "/strategy-rules.txt";
+    private static final String FALLBACK = "righthand";
+
+    private final List<Rule> rules;
+
+    private StrategyRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * loads the rules shipped with the application, falling back to the
+     * right-hand rule for every maze if they cannot be read
+     *
+     * @return the rules
+     */
+    public static StrategyRules load() {
+        try (InputStream input = StrategyRules.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IOException("resource not found");
+            }
+            return parse(input);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to load strategy rules from {}. Error: {}", RESOURCE, e.getMessage());
+            return new StrategyRules(new ArrayList<>());
+        }
+    }
+
+    /**
+     * parses rules, blank lines and lines starting with # are skipped
+     *
+     * @param input the rule text
+     * @return the rules
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if a rule is malformed
+     */
+    public static StrategyRules parse(InputStream input) throws IOException {
+        List<Rule> rules = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int arrow = line.indexOf("->");
+            if (arrow < 0) {
+                throw new IllegalArgumentException("Missing -> on rule line " + lineNumber);
+            }
+            String strategy = line.substring(arrow + 2).trim();
+            if (!StrategyFactory.getSelectableNames().contains(strategy)) {
+                throw new IllegalArgumentException("Unknown strategy " + strategy + " on rule line " + lineNumber);
+            }
+            List<Condition> conditions = new ArrayList<>();
+            String when = line.substring(0, arrow).trim();
+            if (!when.isEmpty()) {
+                for (String part : when.split("\\s+and\\s+")) {
+                    conditions.add(Condition.parse(part.trim(), lineNumber));
+                }
+            }
+            rules.add(new Rule(conditions, strategy));
+        }
+        return new StrategyRules(rules);
+    }
+
+    /**
+     * picks the strategy of the first rule matching the features
+     *
+     * @param features the measured maze
+     * @return the strategy name
+     */
+    public String choose(MazeFeatures features) {
+        for (Rule rule : rules) {
+            if (rule.matches(features)) {
+                return rule.strategy;
+            }
+        }
+        return FALLBACK;
+    }
+
+    private record Rule(List<Condition> conditions, String strategy) {
+        boolean matches(MazeFeatures features) {
+            for (Condition condition : conditions) {
+                if (!condition.holds(features)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Condition(String feature, String op, double value) {
+        static Condition parse(String text, int lineNumber) {
+            String[] tokens = text.split("\\s+");
+            if (tokens.length != 3) {
+                throw new IllegalArgumentException("Malformed condition '" + text + "' on rule line " + lineNumber);
+            }
+            // check the feature name now rather than on the first maze
+            new MazeFeatures(0, 0, 0, 0, 0).getFeature(tokens[0]);
+            if (!List.of("<", "<=", ">", ">=").contains(tokens[1])) {
+                throw new IllegalArgumentException("Unknown operator " + tokens[1] + " on rule line " + lineNumber);
+            }
+            try {
+                return new Condition(tokens[0], tokens[1], Double.parseDouble(tokens[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number " + tokens[2] + " on rule line " + lineNumber);
+            }
+        }
+
+        boolean holds(MazeFeatures features) {
+            double actual = features.getFeature(feature);
+            switch (op) {
+                case "<":
+                    return actual < value;
+                case "<=":
+                    return actual <= value;
+                case ">":
+                    return actual > value;
+                default:
+                    return actual >= value;
+            }
+        }
+    }
+}
@@ -4,14 +4,13 @@ import ca.mcmaster.se2aa4.mazerunner.Maze;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 /**
  * implementation of Tremaux's algorithm for maze exploration
  */
-public class TremauxStrategy implements ExplorationStrategy {
+public class TremauxStrategy implements ResumableStrategy {
 
     private static final Logger logger = LogManager.getLogger();
 
@@ -19,22 +18,37 @@ public class TremauxStrategy implements ExplorationStrategy {
     private int direction = 0;
     private int[] currentPos;
     private List<String> moves;
+    private CheckpointLog checkpoint;
 
-    // tracking visited passages (key: x,y, value: number of times visited)
-    private Map<String, Integer> visited;
+    // tracking visited passages (indexed by y * cols + x, counts kept in the thread's context)
+    private SolverContext visited;
+    private int cols;
+    private int maxVisits;
 
     @Override
     public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
         logger.info("Starting Tremaux exploration from: ({}, {})", startPos[0], startPos[1]);
 
         this.currentPos = new int[] { startPos[0], startPos[1] };
+        this.direction = 0; // instances are reused, start facing right every time
+        this.visited = SolverContext.current();
+        // cell indices are ints, mazes beyond that fail here rather than wrapping around
+        this.visited.begin(Math.multiplyExact(maze.getRows(), maze.getCols()));
         this.moves = new ArrayList<>();
-        this.visited = new HashMap<>();
+        this.cols = maze.getCols();
+        this.maxVisits = 0;
 
         // mark starting position as visited
         markVisited(startPos[0], startPos[1]);
+        if (checkpoint != null) {
+            replay(maze, checkpoint.getResumedMoves());
+        }
 
         while (!hasReachedEnd(endPos)) {
+            if (Thread.currentThread().isInterrupted()) {
+                // cancelled, e.g. another strategy won a race
+                throw new CancellationException("Exploration cancelled at (" + currentPos[0] + ", " + currentPos[1] + ")");
+            }
             // get all possible directions we can move
             List<Integer> possibleDirections = getUnvisitedDirections(maze);
 
@@ -56,6 +70,9 @@ public class TremauxStrategy implements ExplorationStrategy {
                 turnToDirection(nextDirection);
                 moveForward(maze);
             }
+            if (checkpoint != null) {
+                checkpoint.record(moves);
+            }
         }
 
         logger.info("Tremaux exploration completed at: ({}, {})", currentPos[0], currentPos[1]);
@@ -69,6 +86,46 @@ public class TremauxStrategy implements ExplorationStrategy {
         return "Tremaux";
     }
 
+    @Override
+    public void setCheckpoint(CheckpointLog checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    // applies moves saved by an earlier run, rebuilding the position, heading and visit marks
+    private void replay(Maze maze, List<String> savedMoves) {
+        for (String move : savedMoves) {
+            if ("F".equals(move)) {
+                moveForward(maze);
+            } else if ("R".equals(move)) {
+                turnRight();
+            } else if ("L".equals(move)) {
+                turnLeft();
+            }
+        }
+        logger.info("Resumed at ({}, {}) after {} saved moves", currentPos[0], currentPos[1], savedMoves.size());
+    }
+
+    /**
+     * gets how often the last exploration entered a cell, only valid on the
+     * exploring thread until its next solve
+     *
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the visit count, 0 if never visited
+     */
+    public int getVisits(int x, int y) {
+        return visited == null ? 0 : getVisitCount(x, y);
+    }
+
+    /**
+     * gets the highest visit count of any cell in the last exploration
+     *
+     * @return the largest visit count
+     */
+    public int getMaxVisits() {
+        return maxVisits;
+    }
+
     private boolean hasReachedEnd(int[] endPos) {
         return currentPos[0] == endPos[0] && currentPos[1] == endPos[1];
     }
@@ -179,20 +236,19 @@ public class TremauxStrategy implements ExplorationStrategy {
         return isPath;
     }
 
-    private String getPositionKey(int x, int y) {
-        return x + "," + y;
+    private int getCellIndex(int x, int y) {
+        return y * cols + x;
     }
 
     private void markVisited(int x, int y) {
-        String key = getPositionKey(x, y);
-        visited.put(key, visited.getOrDefault(key, 0) + 1);
+        maxVisits = Math.max(maxVisits, visited.addVisit(getCellIndex(x, y)));
     }
 
     private boolean isVisited(int x, int y) {
-        return visited.containsKey(getPositionKey(x, y));
+        return visited.isVisited(getCellIndex(x, y));
     }
 
     private int getVisitCount(int x, int y) {
-        return visited.getOrDefault(getPositionKey(x, y), 0);
+        return visited.getVisits(getCellIndex(x, y));
     }
 }
\ No newline at end of file
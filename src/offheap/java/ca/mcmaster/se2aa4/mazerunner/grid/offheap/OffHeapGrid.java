@@ -0,0 +1,88 @@
+package ca.mcmaster.se2aa4.mazerunner.grid.offheap;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+
+/**
+ * grid storage with one byte per cell (1 for walls) in a memory segment
+ * outside the Java heap, so huge mazes neither need a huge heap nor add to
+ * GC work, the memory is released by close() (built only by the offheap
+ * profile, the API is a preview feature in Java 21)
+ */
+public class OffHeapGrid implements GridStore {
+
+    // cell accessor taking (segment, cell index)
+    private static final VarHandle CELL = ValueLayout.JAVA_BYTE.arrayElementVarHandle();
+
+    private final Arena arena;
+    private final MemorySegment cells;
+    private final int rows;
+    private final int cols;
+
+    public OffHeapGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        // shared so rows can be filled from several loader threads
+        this.arena = Arena.ofShared();
+        this.cells = arena.allocate((long) rows * cols);
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return (byte) CELL.get(cells, (long) y * cols + x) != 0;
+    }
+
+    @Override
+    public void setWall(int x, int y, boolean wall) {
+        CELL.set(cells, (long) y * cols + x, (byte) (wall ? 1 : 0));
+    }
+
+    @Override
+    public void setRow(int y, CharSequence line) {
+        long offset = (long) y * cols;
+        int end = Math.min(line.length(), cols);
+        for (int x = 0; x < end; x++) {
+            CELL.set(cells, offset + x, (byte) (line.charAt(x) == '#' ? 1 : 0));
+        }
+        if (end < cols) {
+            cells.asSlice(offset + end, cols - end).fill((byte) 0);
+        }
+    }
+
+    /**
+     * gets the size of the off-heap memory held by the grid
+     *
+     * @return the number of bytes allocated
+     */
+    public long getByteSize() {
+        return cells.byteSize();
+    }
+
+    @Override
+    public long getFootprintBytes() {
+        return getByteSize();
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public String getName() {
+        return "offheap";
+    }
+}
@@ -0,0 +1,62 @@
+package ca.mcmaster.se2aa4.mazerunner.grid.simd;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.RowScanner;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * row scanner that compares a whole vector of characters against '#' per
+ * instruction (16 cells with 256-bit registers, 32 with 512-bit) and turns
+ * the comparison mask straight into wall bits, built only by the simd profile
+ */
+public class VectorRowScanner implements RowScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final short WALL = '#';
+
+    // per-thread copy of the row, Strings do not expose their characters
+    private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[64]);
+
+    @Override
+    public void wallMasks(CharSequence line, int cols, long[] masks) {
+        int words = (cols + 63) >> 6;
+        int end = Math.min(line.length(), cols);
+        char[] chars = buffers.get();
+        if (chars.length < end) {
+            chars = new char[Math.max(end, chars.length * 2)];
+            buffers.set(chars);
+        }
+        if (line instanceof String) {
+            ((String) line).getChars(0, end, chars, 0);
+        } else {
+            for (int x = 0; x < end; x++) {
+                chars[x] = line.charAt(x);
+            }
+        }
+
+        int lanes = SPECIES.length();
+        int vectorEnd = end - end % lanes;
+        for (int word = 0; word < words; word++) {
+            masks[word] = 0L;
+        }
+        int x = 0;
+        for (; x < vectorEnd; x += lanes) {
+            long lanesMask = ShortVector.fromCharArray(SPECIES, chars, x)
+                    .compare(VectorOperators.EQ, WALL)
+                    .toLong();
+            // lane counts are powers of two up to 64, so a chunk never straddles two words
+            masks[x >> 6] |= lanesMask << (x & 63);
+        }
+        for (; x < end; x++) {
+            if (chars[x] == '#') {
+                masks[x >> 6] |= 1L << (x & 63);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
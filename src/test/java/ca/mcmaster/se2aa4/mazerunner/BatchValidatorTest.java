@@ -0,0 +1,50 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BatchValidatorTest {
+
+    @Test
+    public void testSolvedPathIsValid() {
+        // test that the right-hand solution validates in factorized form
+        Maze maze = new Maze("examples/medium.maz.txt");
+        Explorer explorer = new Explorer(maze);
+        explorer.exploreMaze();
+        String solution = new Path(new ArrayList<>(explorer.getPathSteps())).getFactorizedPath();
+
+        ValidationResult result = new BatchValidator(maze).validate(solution);
+
+        assertTrue(result.isValid());
+        assertArrayEquals(maze.getRightOpening(), result.getStopPosition());
+    }
+
+    @Test
+    public void testMatchesExplorer() {
+        // test that verdicts and stop positions match Explorer.solveMazeFromInput
+        Maze maze = new Maze("examples/small.maz.txt");
+        Random random = new Random(31);
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            StringBuilder path = new StringBuilder();
+            int length = 1 + random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                path.append("FFFLR".charAt(random.nextInt(5)));
+            }
+            paths.add(path.toString());
+        }
+
+        List<ValidationResult> results = new BatchValidator(maze).validateAll(paths);
+
+        Explorer explorer = new Explorer(maze);
+        for (int i = 0; i < paths.size(); i++) {
+            boolean expected = explorer.solveMazeFromInput(paths.get(i));
+            assertEquals(expected, results.get(i).isValid(), paths.get(i));
+            assertArrayEquals(explorer.getCurrentPosition(), results.get(i).getStopPosition(), paths.get(i));
+        }
+    }
+}
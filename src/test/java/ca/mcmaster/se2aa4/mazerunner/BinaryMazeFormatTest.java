@@ -0,0 +1,91 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BinaryMazeFormatTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        // test that a converted maze loads back with the same cells and openings
+        Maze text = new Maze("examples/huge.maz.txt");
+        Path binaryFile = Files.createTempFile("maze", ".mazb");
+        try {
+            text.writeBinary(binaryFile.toString());
+            assertTrue(BinaryMazeFormat.isBinaryMaze(binaryFile.toString()));
+
+            Maze binary = new Maze(binaryFile.toString());
+            assertEquals(text.getRows(), binary.getRows());
+            assertEquals(text.getCols(), binary.getCols());
+            assertArrayEquals(text.getLeftOpening(), binary.getLeftOpening());
+            assertArrayEquals(text.getRightOpening(), binary.getRightOpening());
+            for (int y = 0; y < text.getRows(); y++) {
+                for (int x = 0; x < text.getCols(); x++) {
+                    assertEquals(text.isWall(x, y), binary.isWall(x, y), "cell (" + x + ", " + y + ")");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+
+    @Test
+    public void testChecksumMismatch() throws IOException {
+        // test that a corrupted payload is rejected
+        Maze text = new Maze("examples/small.maz.txt");
+        Path binaryFile = Files.createTempFile("maze", ".mazb");
+        try {
+            text.writeBinary(binaryFile.toString());
+            try (RandomAccessFile file = new RandomAccessFile(binaryFile.toFile(), "rw")) {
+                file.seek(BinaryMazeFormat.HEADER_SIZE);
+                file.write(0x55);
+            }
+            assertThrows(IOException.class, () -> BinaryMazeFormat.map(binaryFile.toString()));
+        } finally {
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+
+    @Test
+    public void testBadHeaderOpeningsAreFoundAgain() throws IOException {
+        // test that opening rows outside the maze or on a wall are replaced by the border openings
+        Maze text = new Maze("examples/small.maz.txt");
+        Path binaryFile = Files.createTempFile("maze", ".mazb");
+        try {
+            text.writeBinary(binaryFile.toString());
+            try (RandomAccessFile file = new RandomAccessFile(binaryFile.toFile(), "rw")) {
+                file.seek(16);
+                file.writeInt(text.getRows() + 5); // entrance row past the last row
+                file.writeInt(0); // exit row on the top wall
+            }
+            Maze binary = new Maze(binaryFile.toString());
+            assertArrayEquals(text.getLeftOpening(), binary.getLeftOpening());
+            assertArrayEquals(text.getRightOpening(), binary.getRightOpening());
+        } finally {
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+
+    @Test
+    public void testFileTooLargeToMapIsAnIOException() throws IOException {
+        // test that a file over 2 GB fails to load with an IOException the Maze constructor handles
+        Maze text = new Maze("examples/small.maz.txt");
+        Path binaryFile = Files.createTempFile("maze", ".mazb");
+        try {
+            text.writeBinary(binaryFile.toString());
+            try (RandomAccessFile file = new RandomAccessFile(binaryFile.toFile(), "rw")) {
+                file.setLength(3L << 30); // sparse, no disk space is used
+            }
+            assertThrows(IOException.class, () -> BinaryMazeFormat.map(binaryFile.toString()));
+            Maze maze = assertDoesNotThrow(() -> new Maze(binaryFile.toString()));
+            assertNull(maze.getLeftOpening());
+        } finally {
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// hammers solving and validation from many threads on shared generated mazes and checks every
+// result against a single-threaded run; excluded from the default build, run it with
+// mvn -Pstress test [-Dstress.seconds=60] [-Dstress.threads=16]
+@Tag("stress")
+public class ConcurrentSolveStressTest {
+
+    private static final long SECONDS = Long.getLong("stress.seconds", 10);
+    private static final int THREADS = Integer.getInteger("stress.threads",
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    private static final List<String> METHODS = List.of("righthand", "tremaux", "auto");
+    private static final String[] STORAGES = { "dense", "tiled", "packed" };
+
+    // the single-threaded answer for one maze and method
+    private record Expected(Maze maze, String method, List<String> moves, String factorized, String wrongPath) {
+    }
+
+    @Test
+    public void testConcurrentSolvesMatchSingleThreaded() throws Exception {
+        // test that solves and validations from many threads give the single-threaded results
+        List<Expected> cases = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int size = 21 + 16 * i;
+            Maze maze = MazeGenerator.build(MazeGenerator.generate(size, size + 10, 1000 + i, i % 3 * 0.05),
+                    STORAGES[i % STORAGES.length]);
+            for (String method : METHODS) {
+                Explorer explorer = new Explorer(maze, method);
+                explorer.exploreMaze();
+                List<String> moves = explorer.getPathSteps();
+                assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", moves)), method + " on maze " + i);
+                // a path that stops one step short must be rejected
+                String wrong = String.join("", moves.subList(0, moves.lastIndexOf("F")));
+                cases.add(new Expected(maze, method, moves, new Path(moves).getFactorizedPath(), wrong));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> workers = new ArrayList<>();
+        long begin = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> hammer(cases, deadline)));
+        }
+        long[] latencies = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] own = worker.get(); // rethrows the first mismatch of that thread
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + own.length);
+            System.arraycopy(own, 0, latencies, offset, own.length);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(latencies.length > 0);
+        Arrays.sort(latencies);
+        System.out.printf("stress: %d solves on %d threads in %.1f s, %.0f solves/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                latencies.length, THREADS, elapsed / 1e9, latencies.length / (elapsed / 1e9),
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    // solves random cases until the deadline, returns the latency of each solve in nanoseconds
+    private static long[] hammer(List<Expected> cases, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Expected expected = cases.get(random.nextInt(cases.size()));
+            long start = System.nanoTime();
+
+            Explorer explorer = new Explorer(expected.maze(), expected.method());
+            explorer.exploreMaze();
+            List<String> moves = explorer.getPathSteps();
+            String factorized = new Path(moves).getFactorizedPath();
+            Explorer validator = new Explorer(expected.maze());
+            boolean valid = validator.solveMazeFromInput(String.join("", moves));
+            boolean wrongValid = validator.solveMazeFromInput(expected.wrongPath());
+
+            long latency = System.nanoTime() - start;
+            assertEquals(expected.moves(), moves, expected.method() + " moves");
+            assertEquals(expected.factorized(), factorized, expected.method() + " factorized path");
+            assertTrue(valid, expected.method() + " path no longer validates");
+            assertFalse(wrongValid, expected.method() + " truncated path validates");
+
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,270 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+// checks the optimized engines against ReferenceSolver on random mazes and paths: exploration moves,
+// path formats, validation verdicts and stop positions, and the paths MazePipeline writes for the
+// maze as text, including short and empty rows, must agree exactly, and a disagreement is
+// shrunk to a small maze before failing. -Ddifferential.cases sets the number of mazes (use millions
+// for a soak run) and -Ddifferential.seed the seed of the first one, to replay a failure
+public class DifferentialHarnessTest {
+
+    private static final long SEED = Long.getLong("differential.seed", 2026);
+    private static final int CASES = Integer.getInteger("differential.cases", 400);
+    private static final String[] METHODS = { "righthand", "tremaux" };
+    private static final String[] STORAGES = { "dense", "tiled", "packed" };
+
+    @Test
+    public void testEnginesAgreeWithReference() {
+        // test that exploration, formatting, validation and the pipeline match the reference on random mazes and paths
+        for (int i = 0; i < CASES; i++) {
+            long seed = SEED + i;
+            Random random = new Random(seed);
+            String[] lines = randomMaze(random);
+            String storage = STORAGES[random.nextInt(STORAGES.length)];
+            for (String method : METHODS) {
+                check(seed, new MazeShrinker.Case(lines, null), c -> explorationMismatch(c.lines(), storage, method));
+                check(seed, new MazeShrinker.Case(lines, null), c -> pipelineMismatch(c.lines(), method));
+            }
+            for (String path : randomPaths(random, lines)) {
+                check(seed, new MazeShrinker.Case(lines, path), c -> validationMismatch(c.lines(), storage, c.path()));
+            }
+        }
+    }
+
+    @Test
+    public void testShrinkerFindsMinimalCase() {
+        // test that a failing case shrinks to one where no single further cut still fails
+        // (here the failure is any right-hand exploration that has to turn back)
+        Function<MazeShrinker.Case, String> turnsBack = c -> {
+            ReferenceSolver reference = new ReferenceSolver(c.lines());
+            if (reference.getStart() == null || reference.getEnd() == null || !reference.isExitReachable()) {
+                return null;
+            }
+            List<String> moves = reference.rightHand();
+            return moves != null && String.join("", moves).contains("LL") ? "turns back" : null;
+        };
+        MazeShrinker.Case failing = new MazeShrinker.Case(MazeGenerator.generate(21, 21, 7, 0), null);
+        assertNotNull(turnsBack.apply(failing));
+
+        MazeShrinker.Case small = MazeShrinker.shrink(failing, c -> turnsBack.apply(c) != null);
+
+        assertNotNull(turnsBack.apply(small));
+        assertTrue(small.lines().length * small.lines()[0].length() < 21 * 21 / 4, small.describe());
+        for (MazeShrinker.Case smaller : MazeShrinker.candidates(small)) {
+            assertNull(turnsBack.apply(smaller), smaller.describe());
+        }
+    }
+
+    // fails with the shrunk case when the property finds a mismatch
+    private static void check(long seed, MazeShrinker.Case initial, Function<MazeShrinker.Case, String> mismatch) {
+        if (mismatch.apply(initial) == null) {
+            return;
+        }
+        MazeShrinker.Case small = MazeShrinker.shrink(initial, c -> mismatch.apply(c) != null);
+        fail("seed " + seed + ": " + mismatch.apply(small) + "\n" + small.describe());
+    }
+
+    // explores with the engine and compares moves, reachability and the formats of the path
+    private static String explorationMismatch(String[] lines, String storage, String method) {
+        ReferenceSolver reference = new ReferenceSolver(lines);
+        if (reference.getStart() == null || reference.getEnd() == null) {
+            return null; // the engines need an entrance and an exit
+        }
+        boolean reachable = reference.isExitReachable();
+        List<String> expected;
+        if (!reachable) {
+            expected = List.of();
+        } else if ("righthand".equals(method)) {
+            expected = reference.rightHand();
+        } else {
+            expected = reference.tremaux(16 * lines.length * ReferenceSolver.width(lines));
+        }
+        if (expected == null) {
+            return null; // the engine would not stop either
+        }
+
+        try {
+            Explorer explorer = new Explorer(MazeGenerator.build(lines, storage), method);
+            explorer.exploreMaze();
+            List<String> moves = explorer.getPathSteps();
+            if (explorer.isExitReachable() != reachable) {
+                return method + " on " + storage + " says the exit is reachable: " + explorer.isExitReachable();
+            }
+            if (!expected.equals(moves)) {
+                return method + " on " + storage + " moves " + ReferenceSolver.group(moves, true)
+                        + ", expected " + ReferenceSolver.group(expected, true);
+            }
+            return formatMismatch(moves);
+        } catch (RuntimeException e) {
+            return method + " on " + storage + " threw " + e;
+        }
+    }
+
+    // compares Path formatting and parsing of the moves with the reference
+    private static String formatMismatch(List<String> moves) {
+        String factorized = ReferenceSolver.group(moves, true);
+        String formatted = ReferenceSolver.group(moves, false);
+        Path path = new Path(moves);
+        if (!factorized.equals(path.getFactorizedPath())) {
+            return "factorized path \"" + path.getFactorizedPath() + "\", expected \"" + factorized + "\"";
+        }
+        if (!formatted.equals(path.getFormattedPath())) {
+            return "formatted path \"" + path.getFormattedPath() + "\", expected \"" + formatted + "\"";
+        }
+        String parsed = new Path(factorized).getFormattedInputtedPath();
+        if (!formatted.equals(parsed)) {
+            return "parsed \"" + factorized + "\" as \"" + parsed + "\", expected \"" + formatted + "\"";
+        }
+        if (!ReferenceSolver.expand(factorized).equals(Path.convertFormat(factorized))) {
+            return "expanded \"" + factorized + "\" to \"" + Path.convertFormat(factorized) + "\"";
+        }
+        return null;
+    }
+
+    // writes the maze as text to MazePipeline and compares the line it writes with the reference
+    private static String pipelineMismatch(String[] lines, String method) {
+        ReferenceSolver reference = new ReferenceSolver(lines);
+        String expected = "no path";
+        if (reference.getStart() != null && reference.getEnd() != null && reference.isExitReachable()) {
+            List<String> moves = "righthand".equals(method) ? reference.rightHand()
+                    : reference.tremaux(16 * lines.length * ReferenceSolver.width(lines));
+            if (moves == null) {
+                return null;
+            }
+            expected = ReferenceSolver.group(moves, true);
+        }
+
+        String text = String.join("\n", lines) + "\n" + MazePipeline.DEFAULT_SEPARATOR + "\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            new MazePipeline(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), output, method).run();
+        } catch (IOException | RuntimeException e) {
+            return "pipeline with " + method + " threw " + e;
+        }
+        String written = output.toString(StandardCharsets.US_ASCII);
+        if (!written.equals(expected + "\n")) {
+            return "pipeline with " + method + " wrote \"" + written.strip() + "\", expected \"" + expected + "\"";
+        }
+        return null;
+    }
+
+    // validates with Explorer, BatchValidator and PrefixTrieValidator and compares verdicts and stop positions
+    private static String validationMismatch(String[] lines, String storage, String path) {
+        ReferenceSolver reference = new ReferenceSolver(lines);
+        if (reference.getStart() == null || reference.getEnd() == null) {
+            return null;
+        }
+        ValidationResult expected = reference.validate(path);
+        try {
+            Maze maze = MazeGenerator.build(lines, storage);
+            Explorer explorer = new Explorer(maze);
+            ValidationResult explored = new ValidationResult(explorer.solveMazeFromInput(path), explorer.getCurrentPosition());
+            String factorized = ReferenceSolver.group(Arrays.asList(path.split("")), true);
+            ValidationResult batch = new BatchValidator(maze).validate(factorized);
+            ValidationResult trie = new PrefixTrieValidator(maze).validateAll(List.of(factorized)).getFirst();
+
+            String mismatch = compare("Explorer", explored, expected);
+            if (mismatch == null) {
+                mismatch = compare("BatchValidator on " + factorized, batch, expected);
+            }
+            if (mismatch == null) {
+                mismatch = compare("PrefixTrieValidator on " + factorized, trie, expected);
+            }
+            return mismatch == null ? null : mismatch + " on " + storage;
+        } catch (RuntimeException e) {
+            return "validation on " + storage + " threw " + e;
+        }
+    }
+
+    private static String compare(String engine, ValidationResult actual, ValidationResult expected) {
+        if (actual.isValid() == expected.isValid()
+                && Arrays.equals(actual.getStopPosition(), expected.getStopPosition())) {
+            return null;
+        }
+        return engine + " gave " + actual + ", expected " + expected;
+    }
+
+    // a carved maze or an open room, as written by hand for most of them: trailing passages
+    // trimmed from some rows and sometimes empty rows, which are rows without walls
+    private static String[] randomMaze(Random random) {
+        String[] lines = random.nextBoolean()
+                ? MazeGenerator.generate(5 + random.nextInt(27), 5 + random.nextInt(27), random.nextLong(),
+                        random.nextDouble() * 0.3)
+                : randomRoom(random);
+        if (random.nextInt(3) == 0) {
+            return lines;
+        }
+        List<String> ragged = new ArrayList<>();
+        for (String line : lines) {
+            ragged.add(random.nextBoolean() ? line.stripTrailing() : line);
+        }
+        for (int empty = random.nextInt(4) - 1; empty > 0; empty--) {
+            ragged.add(random.nextInt(ragged.size() + 1), "");
+        }
+        return ragged.toArray(new String[0]);
+    }
+
+    // an open room with scattered walls and sometimes two openings on a border
+    private static String[] randomRoom(Random random) {
+        int rows = 3 + random.nextInt(14);
+        int cols = 3 + random.nextInt(14);
+        double density = 0.1 + random.nextDouble() * 0.4;
+        char[][] grid = new char[rows][cols];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                boolean border = y == 0 || x == 0 || y == rows - 1 || x == cols - 1;
+                grid[y][x] = border || random.nextDouble() < density ? '#' : ' ';
+            }
+        }
+        for (int opening = 0; opening < 1 + random.nextInt(2); opening++) {
+            grid[1 + random.nextInt(rows - 2)][0] = ' ';
+            grid[1 + random.nextInt(rows - 2)][cols - 1] = ' ';
+        }
+        String[] lines = new String[rows];
+        for (int y = 0; y < rows; y++) {
+            lines[y] = new String(grid[y]);
+        }
+        return lines;
+    }
+
+    // the reference solution with small edits, plus random walks
+    private static List<String> randomPaths(Random random, String[] lines) {
+        List<String> paths = new ArrayList<>();
+        ReferenceSolver reference = new ReferenceSolver(lines);
+        if (reference.getStart() == null || reference.getEnd() == null) {
+            return paths;
+        }
+        List<String> solution = reference.isExitReachable() ? reference.rightHand() : null;
+        if (solution != null && !solution.isEmpty()) {
+            String solved = String.join("", solution);
+            paths.add(solved);
+            paths.add(solved.substring(0, random.nextInt(solved.length())));
+            paths.add(solved + "FLR".charAt(random.nextInt(3)));
+            char[] edited = solved.toCharArray();
+            edited[random.nextInt(edited.length)] = "FLRX".charAt(random.nextInt(4));
+            paths.add(new String(edited));
+        }
+        int cells = lines.length * ReferenceSolver.width(lines);
+        for (int i = 0; i < 4; i++) {
+            StringBuilder walk = new StringBuilder();
+            int length = random.nextInt(2 * cells);
+            for (int j = 0; j < length; j++) {
+                walk.append("FFFFLR".charAt(random.nextInt(6)));
+            }
+            paths.add(walk.toString());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,84 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// builds random mazes for tests: a perfect maze carved depth-first from a seed, with
+// some inner walls knocked down afterwards so there are loops, one entrance on the
+// left border and one exit on the right border
+public class MazeGenerator {
+
+    private MazeGenerator() {
+    }
+
+    // rows and cols are rounded up to odd sizes, loopRate is the share of inner walls removed
+    public static String[] generate(int rows, int cols, long seed, double loopRate) {
+        rows = Math.max(5, rows | 1);
+        cols = Math.max(5, cols | 1);
+        Random random = new Random(seed);
+        char[][] grid = new char[rows][cols];
+        for (char[] row : grid) {
+            Arrays.fill(row, '#');
+        }
+
+        // cells sit on odd coordinates, carving opens the wall between two of them
+        int cellCols = cols / 2;
+        int[] stack = new int[(rows / 2) * cellCols];
+        int size = 0;
+        stack[size++] = 0;
+        grid[1][1] = ' ';
+        int[] dx = { 1, 0, -1, 0 };
+        int[] dy = { 0, 1, 0, -1 };
+        while (size > 0) {
+            int cell = stack[size - 1];
+            int x = 1 + 2 * (cell % cellCols);
+            int y = 1 + 2 * (cell / cellCols);
+            int start = random.nextInt(4);
+            boolean carved = false;
+            for (int i = 0; i < 4 && !carved; i++) {
+                int dir = (start + i) % 4;
+                int nx = x + 2 * dx[dir];
+                int ny = y + 2 * dy[dir];
+                if (nx > 0 && nx < cols - 1 && ny > 0 && ny < rows - 1 && grid[ny][nx] == '#') {
+                    grid[y + dy[dir]][x + dx[dir]] = ' ';
+                    grid[ny][nx] = ' ';
+                    stack[size++] = (ny / 2) * cellCols + nx / 2;
+                    carved = true;
+                }
+            }
+            if (!carved) {
+                size--;
+            }
+        }
+
+        // knock down walls between two passages to add loops
+        for (int y = 1; y < rows - 1; y++) {
+            for (int x = 1; x < cols - 1; x++) {
+                boolean between = (x % 2 == 0) != (y % 2 == 0);
+                if (between && grid[y][x] == '#' && random.nextDouble() < loopRate) {
+                    grid[y][x] = ' ';
+                }
+            }
+        }
+
+        grid[1 + 2 * random.nextInt(rows / 2)][0] = ' ';
+        grid[1 + 2 * random.nextInt(rows / 2)][cols - 1] = ' ';
+
+        String[] lines = new String[rows];
+        for (int y = 0; y < rows; y++) {
+            lines[y] = new String(grid[y]);
+        }
+        return lines;
+    }
+
+    public static Maze build(String[] lines, String storage) {
+        GridStore grid = GridFactory.createGrid(storage, lines.length, ReferenceSolver.width(lines));
+        for (int y = 0; y < lines.length; y++) {
+            grid.setRow(y, lines[y]);
+        }
+        return new Maze(grid);
+    }
+}
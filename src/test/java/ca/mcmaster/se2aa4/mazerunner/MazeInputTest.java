@@ -0,0 +1,41 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+public class MazeInputTest {
+
+    @Test
+    public void testGzipTextMaze() throws IOException {
+        // test that a gzip compressed text maze loads like the original file
+        Path compressed = Files.createTempFile("maze", ".maz.txt.gz");
+        try {
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                Files.copy(Paths.get("examples/large.maz.txt"), output);
+            }
+            assertTrue(MazeInput.isCompressed(compressed.toString()));
+            assertFalse(MazeInput.isCompressed("examples/large.maz.txt"));
+
+            Maze text = new Maze("examples/large.maz.txt");
+            Maze gzip = new Maze(compressed.toString());
+            assertEquals(text.getRows(), gzip.getRows());
+            assertEquals(text.getCols(), gzip.getCols());
+            assertArrayEquals(text.getLeftOpening(), gzip.getLeftOpening());
+            assertArrayEquals(text.getRightOpening(), gzip.getRightOpening());
+            for (int y = 0; y < text.getRows(); y++) {
+                for (int x = 0; x < text.getCols(); x++) {
+                    assertEquals(text.getGridAt(x, y), gzip.getGridAt(x, y));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(compressed);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class MazePipelineTest {
+
+    @Test
+    public void testSolvesEachMaze() throws IOException {
+        // test that every maze in the stream gets its own factorized path
+        String small = Files.readString(Paths.get("examples/small.maz.txt"));
+        String large = Files.readString(Paths.get("examples/large.maz.txt"));
+        String stream = small + "---\n---\n" + large + "---\n" + small;
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MazePipeline pipeline = new MazePipeline(
+                new ByteArrayInputStream(stream.getBytes(StandardCharsets.US_ASCII)), output, "righthand");
+
+        assertEquals(3, pipeline.run());
+        String[] paths = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(3, paths.length);
+        assertEquals(solve("examples/small.maz.txt"), paths[0]);
+        assertEquals(solve("examples/large.maz.txt"), paths[1]);
+        assertEquals(paths[0], paths[2]);
+    }
+
+    @Test
+    public void testMazeWithoutOpenings() throws IOException {
+        // test that a closed maze is reported without stopping the pipeline
+        String stream = "###\n###\n###\n---\n" + Files.readString(Paths.get("examples/small.maz.txt"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new MazePipeline(new ByteArrayInputStream(stream.getBytes(StandardCharsets.US_ASCII)), output, "righthand")
+                .run();
+
+        String[] paths = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals("no path", paths[0]);
+        assertEquals(solve("examples/small.maz.txt"), paths[1]);
+    }
+
+    @Test
+    public void testExternalReportsNoPath() throws IOException {
+        // test that a cut off exit found by the external search is written as no path
+        String stream = "#####\n  #  \n#####\n---\n" + Files.readString(Paths.get("examples/small.maz.txt"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new MazePipeline(new ByteArrayInputStream(stream.getBytes(StandardCharsets.US_ASCII)), output, "external")
+                .run();
+
+        String[] paths = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals("no path", paths[0]);
+        assertFalse(paths[1].isEmpty());
+    }
+
+    @Test
+    public void testEmptyLinesAreRows() throws IOException {
+        // test that an empty line is a row without walls, as when the file is read with -i
+        String straight = Files.readString(Paths.get("examples/straight.maz.txt"));
+        String stream = straight + "---\n" + straight;
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(2, new MazePipeline(new ByteArrayInputStream(stream.getBytes(StandardCharsets.US_ASCII)),
+                output, "righthand").run());
+
+        String[] paths = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(2, paths.length);
+        assertEquals("4F", solve("examples/straight.maz.txt"));
+        assertEquals("4F", paths[0]);
+        assertEquals("4F", paths[1]);
+    }
+
+    @Test
+    public void testCustomSeparator() throws IOException {
+        // test that mazes can be split by another marker line, and rows are padded to the widest
+        String stream = "#####\n    \n#####\n=\n###\n  \n###";
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(2, new MazePipeline(new ByteArrayInputStream(stream.getBytes(StandardCharsets.US_ASCII)),
+                output, "righthand", "=").run());
+
+        assertEquals("4F\n2F\n", output.toString(StandardCharsets.US_ASCII));
+    }
+
+    private String solve(String filePath) {
+        Explorer explorer = new Explorer(new Maze(filePath));
+        explorer.exploreMaze();
+        return new Path(explorer.getPathSteps()).getFactorizedPath();
+    }
+}
@@ -0,0 +1,112 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// shrinks a failing test case to a small maze and path: cuts detours out of the path, drops runs of
+// instructions, rows and columns and walls in passages, keeping every change after which the case
+// still fails; short rows are left short, so cases about how rows are read keep failing
+public class MazeShrinker {
+
+    // a maze as text lines and an optional path checked against it
+    public record Case(String[] lines, String path) {
+        // passages as dots and each row ended by a bar, so short and empty rows show
+        public String describe() {
+            StringBuilder text = new StringBuilder();
+            for (String line : lines) {
+                text.append(line.replace(' ', '.')).append("|\n");
+            }
+            return path == null ? text.toString() : text.append("path: \"").append(path).append('"').toString();
+        }
+    }
+
+    private MazeShrinker() {
+    }
+
+    // shrinks until no single candidate fails any more, so the result is locally minimal
+    public static Case shrink(Case failing, Predicate<Case> fails) {
+        Case current = failing;
+        boolean shrunk = true;
+        while (shrunk) {
+            shrunk = false;
+            for (Case candidate : candidates(current)) {
+                if (fails.test(candidate)) {
+                    current = candidate;
+                    shrunk = true;
+                    break;
+                }
+            }
+        }
+        return current;
+    }
+
+    // every case one step smaller than the given one, biggest cuts first
+    static List<Case> candidates(Case current) {
+        List<Case> candidates = new ArrayList<>();
+        String[] lines = current.lines();
+        int cols = ReferenceSolver.width(lines);
+
+        String path = current.path();
+        if (path != null) {
+            // detours that come back to the same cell, replaced by turning on the spot, longest first
+            List<int[]> states = new ReferenceSolver(lines).trace(path);
+            Map<Integer, Integer> lastVisit = new HashMap<>();
+            for (int i = 0; i < states.size(); i++) {
+                lastVisit.put(states.get(i)[1] * cols + states.get(i)[0], i);
+            }
+            List<Case> detours = new ArrayList<>();
+            for (int i = 0; i < states.size(); i++) {
+                int[] from = states.get(i);
+                int j = lastVisit.get(from[1] * cols + from[0]);
+                String turn = ReferenceSolver.turnBetween(from[2], states.get(j)[2]);
+                if (j - i > turn.length()) {
+                    detours.add(new Case(lines, path.substring(0, i) + turn + path.substring(j)));
+                }
+            }
+            detours.sort(Comparator.comparingInt(detour -> detour.path().length()));
+            candidates.addAll(detours);
+
+            // runs of instructions, halves first
+            for (int run = Integer.highestOneBit(Math.max(1, path.length())); run >= 1; run /= 2) {
+                for (int from = 0; from + run <= path.length(); from += run) {
+                    candidates.add(new Case(lines, path.substring(0, from) + path.substring(from + run)));
+                }
+            }
+        }
+
+        if (lines.length > 1) {
+            for (int y = 0; y < lines.length; y++) {
+                List<String> fewer = new ArrayList<>(List.of(lines));
+                fewer.remove(y);
+                candidates.add(new Case(fewer.toArray(new String[0]), current.path()));
+            }
+        }
+        if (cols > 2) {
+            for (int x = 0; x < cols; x++) {
+                String[] narrower = new String[lines.length];
+                for (int y = 0; y < lines.length; y++) {
+                    String line = lines[y];
+                    narrower[y] = x < line.length() ? line.substring(0, x) + line.substring(x + 1) : line;
+                }
+                candidates.add(new Case(narrower, current.path()));
+            }
+        }
+
+        for (int y = 0; y < lines.length; y++) {
+            for (int x = 0; x < cols; x++) {
+                if (x >= lines[y].length() || lines[y].charAt(x) != '#') {
+                    // short rows are padded up to the new wall
+                    String line = x < lines[y].length() ? lines[y] : lines[y] + " ".repeat(x + 1 - lines[y].length());
+                    String[] walled = lines.clone();
+                    walled[y] = line.substring(0, x) + '#' + line.substring(x + 1);
+                    candidates.add(new Case(walled, current.path()));
+                }
+            }
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,61 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ParallelMazeLoaderTest {
+
+    @Test
+    public void testChunksMatchSequentialLoad() throws IOException {
+        // test that any number of chunks gives the same grid as the line-by-line loader
+        String[] files = { "examples/giant.maz.txt", "examples/rectangle.maz.txt", "examples/direct.maz.txt" };
+        for (String file : files) {
+            Maze expected = new Maze(file, "packed");
+            for (int chunks : new int[] { 1, 3, 16, 200 }) {
+                ParallelMazeLoader loader = new ParallelMazeLoader(file, chunks);
+                GridStore grid = loader.load("tiled");
+                assertEquals(expected.getRows(), loader.getRows(), file);
+                assertEquals(expected.getCols(), loader.getCols(), file);
+                for (int y = 0; y < expected.getRows(); y++) {
+                    for (int x = 0; x < expected.getCols(); x++) {
+                        assertEquals(expected.isWall(x, y), grid.isWall(x, y), file + " " + chunks + " chunks at " + x + "," + y);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLineEndingsAndRaggedRows() throws IOException {
+        // test CRLF endings, a missing final newline and a row with trimmed trailing spaces
+        Path file = Files.createTempFile("maze", ".maz.txt");
+        try {
+            Files.writeString(file, "#####\r\n    #\r\n###\r\n#####");
+            ParallelMazeLoader loader = new ParallelMazeLoader(file.toString(), 4);
+            GridStore grid = loader.load("dense");
+            assertEquals(4, loader.getRows());
+            assertEquals(5, loader.getCols());
+            assertFalse(grid.isWall(0, 1));
+            assertTrue(grid.isWall(4, 1));
+            assertTrue(grid.isWall(2, 2));
+            assertFalse(grid.isWall(3, 2));
+            assertTrue(grid.isWall(4, 3));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRaggedExampleSolves() {
+        // test that a maze with a trimmed row is padded and can be solved
+        Maze maze = new Maze("examples/straight.maz.txt");
+        assertEquals(5, maze.getCols());
+        Explorer explorer = new Explorer(maze);
+        assertTrue(explorer.solveMazeFromInput("FFFF"));
+    }
+}
@@ -0,0 +1,46 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathOptimizerTest {
+
+    @Test
+    public void testOptimizedPathsStillSolve() {
+        // test that optimized right-hand and tremaux paths are no longer and still validate
+        String[] files = { "examples/small.maz.txt", "examples/medium.maz.txt", "examples/giant.maz.txt",
+                "examples/rectangle.maz.txt", "examples/direct.maz.txt" };
+        for (String file : files) {
+            Maze maze = new Maze(file);
+            for (String method : new String[] { "righthand", "tremaux" }) {
+                Explorer explorer = new Explorer(maze, method);
+                explorer.exploreMaze();
+                List<String> moves = new ArrayList<>(explorer.getPathSteps());
+                List<String> optimized = new PathOptimizer(maze).optimize(moves);
+
+                assertTrue(optimized.size() <= moves.size(), file + " " + method);
+                assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", optimized)), file + " " + method);
+                assertFalse(String.join("", optimized).contains("RRR"), file + " " + method);
+            }
+        }
+    }
+
+    @Test
+    public void testDeadEndIsCut() {
+        // test that walking into a dead end and back is removed
+        Maze maze = new Maze("examples/straight.maz.txt");
+        List<String> moves = List.of("F", "F", "L", "L", "F", "L", "L", "F", "F", "F");
+        assertEquals(List.of("F", "F", "F", "F"), new PathOptimizer(maze).optimize(moves));
+    }
+
+    @Test
+    public void testBlockedPathIsUnchanged() {
+        // test that a path that walks into a wall is returned as is
+        Maze maze = new Maze("examples/straight.maz.txt");
+        List<String> moves = List.of("R", "F");
+        assertSame(moves, new PathOptimizer(maze).optimize(moves));
+    }
+}
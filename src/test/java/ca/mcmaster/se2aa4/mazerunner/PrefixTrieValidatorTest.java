@@ -0,0 +1,52 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PrefixTrieValidatorTest {
+
+    @Test
+    public void testMatchesBatchValidator() {
+        // test that paths sharing prefixes get the same verdicts as one-by-one replays
+        Maze maze = new Maze("examples/medium.maz.txt");
+        Explorer explorer = new Explorer(maze);
+        explorer.exploreMaze();
+        String solution = String.join("", explorer.getPathSteps());
+
+        Random random = new Random(32);
+        List<String> paths = new ArrayList<>();
+        paths.add(solution);
+        paths.add(solution + "F");
+        paths.add(solution + "X");
+        paths.add("");
+        for (int i = 0; i < 300; i++) {
+            // cut the solution somewhere and continue with random moves
+            StringBuilder path = new StringBuilder(solution.substring(0, random.nextInt(solution.length())));
+            int tail = random.nextInt(10);
+            for (int j = 0; j < tail; j++) {
+                path.append("FFLRX".charAt(random.nextInt(5)));
+            }
+            paths.add(path.toString());
+        }
+
+        PrefixTrieValidator trie = new PrefixTrieValidator(maze);
+        List<ValidationResult> results = trie.validateAll(paths);
+        BatchValidator batch = new BatchValidator(maze);
+
+        assertTrue(results.get(0).isValid());
+        assertFalse(results.get(1).isValid());
+        assertFalse(results.get(2).isValid());
+        for (int i = 0; i < paths.size(); i++) {
+            ValidationResult expected = batch.validate(paths.get(i));
+            assertEquals(expected.isValid(), results.get(i).isValid(), paths.get(i));
+            assertArrayEquals(expected.getStopPosition(), results.get(i).getStopPosition(), paths.get(i));
+        }
+
+        // the validator can be reused for another batch
+        assertTrue(trie.validateAll(List.of(solution)).get(0).isValid());
+    }
+}
@@ -0,0 +1,272 @@
+package ca.mcmaster.se2aa4.mazerunner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// plain versions of the exploration, path formatting and validation rules, written for
+// clarity rather than speed and working on the text of the maze only, used by the
+// differential test as the expected behaviour of the optimized engines
+public class ReferenceSolver {
+
+    // direction: 0=right, 1=down, 2=left, 3=up
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final String[] lines;
+    private final int rows;
+    private final int cols;
+    private final int[] start;
+    private final int[] end;
+
+    public ReferenceSolver(String[] lines) {
+        this.lines = lines;
+        this.rows = lines.length;
+        this.cols = width(lines);
+        // the last opening of each border is used, like Maze
+        int[] left = null;
+        int[] right = null;
+        for (int y = 0; y < rows; y++) {
+            if (isOpen(0, y)) {
+                left = new int[] { 0, y };
+            }
+            if (isOpen(cols - 1, y)) {
+                right = new int[] { cols - 1, y };
+            }
+        }
+        this.start = left;
+        this.end = right;
+    }
+
+    // the widest row, as the maze is read
+    public static int width(String[] lines) {
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, line.length());
+        }
+        return width;
+    }
+
+    // short rows are padded with passages
+    public boolean isOpen(int x, int y) {
+        if (x < 0 || y < 0 || y >= rows || x >= cols) {
+            return false;
+        }
+        return x >= lines[y].length() || lines[y].charAt(x) != '#';
+    }
+
+    public int[] getStart() {
+        return start;
+    }
+
+    public int[] getEnd() {
+        return end;
+    }
+
+    // breadth-first search from the entrance
+    public boolean isExitReachable() {
+        if (start == null || end == null) {
+            return false;
+        }
+        boolean[][] seen = new boolean[rows][cols];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(start);
+        seen[start[1]][start[0]] = true;
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            if (cell[0] == end[0] && cell[1] == end[1]) {
+                return true;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int x = cell[0] + DX[dir];
+                int y = cell[1] + DY[dir];
+                if (isOpen(x, y) && !seen[y][x]) {
+                    seen[y][x] = true;
+                    queue.add(new int[] { x, y });
+                }
+            }
+        }
+        return false;
+    }
+
+    // right-hand rule from the entrance facing right, null if it would walk in circles forever
+    public List<String> rightHand() {
+        List<String> moves = new ArrayList<>();
+        int x = start[0];
+        int y = start[1];
+        int dir = 0;
+        Set<Integer> states = new HashSet<>();
+        while (x != end[0] || y != end[1]) {
+            if (!states.add((y * cols + x) * 4 + dir)) {
+                return null;
+            }
+            // try right, ahead, left, then back
+            int[] turns = { 1, 0, 3, 2 };
+            int chosen = -1;
+            for (int turn : turns) {
+                int next = (dir + turn) % 4;
+                if (turn == 2 || isOpen(x + DX[next], y + DY[next])) {
+                    chosen = turn;
+                    break;
+                }
+            }
+            addTurn(moves, chosen);
+            dir = (dir + chosen) % 4;
+            if (isOpen(x + DX[dir], y + DY[dir])) {
+                x += DX[dir];
+                y += DY[dir];
+                moves.add("F");
+            }
+        }
+        return moves;
+    }
+
+    // Tremaux from the entrance facing right: the first unvisited neighbour in direction order,
+    // else the first least visited one; null if it takes more than maxSteps steps
+    public List<String> tremaux(int maxSteps) {
+        List<String> moves = new ArrayList<>();
+        int[][] visits = new int[rows][cols];
+        int x = start[0];
+        int y = start[1];
+        int dir = 0;
+        visits[y][x]++;
+        int steps = 0;
+        while (x != end[0] || y != end[1]) {
+            int chosen = -1;
+            for (int next = 0; next < 4; next++) {
+                int nx = x + DX[next];
+                int ny = y + DY[next];
+                if (isOpen(nx, ny) && (chosen < 0 || visits[ny][nx] < visits[y + DY[chosen]][x + DX[chosen]])) {
+                    chosen = next;
+                }
+            }
+            if (chosen < 0) {
+                break; // walled in
+            }
+            if (++steps > maxSteps) {
+                return null;
+            }
+            addTurn(moves, (chosen - dir + 4) % 4);
+            dir = chosen;
+            x += DX[dir];
+            y += DY[dir];
+            visits[y][x]++;
+            moves.add("F");
+        }
+        return moves;
+    }
+
+    // a number of right quarter turns as moves, turning back is two lefts
+    private static void addTurn(List<String> moves, int turn) {
+        if (turn == 1) {
+            moves.add("R");
+        } else if (turn == 2) {
+            moves.add("L");
+            moves.add("L");
+        } else if (turn == 3) {
+            moves.add("L");
+        }
+    }
+
+    // replays canonical instructions from the entrance facing right, valid only when the exit
+    // is reached on the last instruction
+    public ValidationResult validate(String instructions) {
+        if (instructions == null || instructions.isEmpty() || start == null || end == null) {
+            return new ValidationResult(false, start);
+        }
+        int x = start[0];
+        int y = start[1];
+        int dir = 0;
+        for (int i = 0; i < instructions.length(); i++) {
+            char instruction = instructions.charAt(i);
+            if (instruction == 'F') {
+                if (!isOpen(x + DX[dir], y + DY[dir])) {
+                    break;
+                }
+                x += DX[dir];
+                y += DY[dir];
+            } else if (instruction == 'R') {
+                dir = (dir + 1) % 4;
+            } else if (instruction == 'L') {
+                dir = (dir + 3) % 4;
+            } else {
+                return new ValidationResult(false, new int[] { x, y });
+            }
+            if (x == end[0] && y == end[1]) {
+                return new ValidationResult(i == instructions.length() - 1, new int[] { x, y });
+            }
+        }
+        return new ValidationResult(false, new int[] { x, y });
+    }
+
+    // where the runner is before each instruction and after the last one, as (x, y, direction),
+    // ending early at a blocked step or an unknown instruction
+    public List<int[]> trace(String instructions) {
+        List<int[]> states = new ArrayList<>();
+        if (start == null) {
+            return states;
+        }
+        int x = start[0];
+        int y = start[1];
+        int dir = 0;
+        states.add(new int[] { x, y, dir });
+        for (char instruction : instructions.toCharArray()) {
+            if (instruction == 'F' && isOpen(x + DX[dir], y + DY[dir])) {
+                x += DX[dir];
+                y += DY[dir];
+            } else if (instruction == 'R') {
+                dir = (dir + 1) % 4;
+            } else if (instruction == 'L') {
+                dir = (dir + 3) % 4;
+            } else {
+                break;
+            }
+            states.add(new int[] { x, y, dir });
+        }
+        return states;
+    }
+
+    // the turns taking one heading to another: R, LL, L or nothing
+    public static String turnBetween(int from, int to) {
+        List<String> moves = new ArrayList<>();
+        addTurn(moves, (to - from + 4) % 4);
+        return String.join("", moves);
+    }
+
+    // runs of equal moves separated by spaces, written as counts when counted is true: FFLR -> "FF L R" or "2F L R"
+    public static String group(List<String> moves, boolean counted) {
+        List<String> runs = new ArrayList<>();
+        int i = 0;
+        while (i < moves.size()) {
+            int j = i;
+            while (j < moves.size() && moves.get(j).equals(moves.get(i))) {
+                j++;
+            }
+            int count = j - i;
+            if (counted) {
+                runs.add((count > 1 ? String.valueOf(count) : "") + moves.get(i));
+            } else {
+                runs.add(moves.get(i).repeat(count));
+            }
+            i = j;
+        }
+        return String.join(" ", runs);
+    }
+
+    // expands counts and drops spaces: "3F L" -> "FFFL"
+    public static String expand(String factorized) {
+        StringBuilder instructions = new StringBuilder();
+        int count = 0;
+        for (char c : factorized.toCharArray()) {
+            if (Character.isDigit(c)) {
+                count = count * 10 + (c - '0');
+            } else if (!Character.isWhitespace(c)) {
+                instructions.append(String.valueOf(c).repeat(count == 0 ? 1 : count));
+                count = 0;
+            }
+        }
+        return instructions.toString();
+    }
+}
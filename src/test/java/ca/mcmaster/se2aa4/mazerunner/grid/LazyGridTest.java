@@ -0,0 +1,62 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+public class LazyGridTest {
+
+    @Test
+    public void testOpeningsNeedNoDecoding() throws IOException {
+        // test that the border bits recorded while indexing are enough to find the openings
+        try (LazyGrid grid = LazyGrid.open("examples/giant.maz.txt", 8)) {
+            Maze lazy = new Maze(grid);
+            Maze dense = new Maze("examples/giant.maz.txt");
+            assertArrayEquals(dense.getLeftOpening(), lazy.getLeftOpening());
+            assertArrayEquals(dense.getRightOpening(), lazy.getRightOpening());
+            assertEquals(0, grid.getDecodedRowCount());
+        }
+    }
+
+    @Test
+    public void testSolveWithSmallCache() throws IOException {
+        // test that a solve through a tiny cache gives the same path as the dense grid
+        Explorer dense = new Explorer(new Maze("examples/huge.maz.txt"), "righthand");
+        dense.exploreMaze();
+        String expected = String.join("", dense.getPathSteps());
+
+        try (LazyGrid grid = LazyGrid.open("examples/huge.maz.txt", 4)) {
+            Explorer lazy = new Explorer(new Maze(grid), "righthand");
+            lazy.exploreMaze();
+            assertEquals(expected, String.join("", lazy.getPathSteps()));
+        }
+    }
+
+    @Test
+    public void testEditsSurviveEviction() throws IOException {
+        // test that an edited row keeps its change after being pushed out of the cache
+        try (LazyGrid grid = LazyGrid.open("examples/small.maz.txt", 1)) {
+            grid.setWall(1, 1, true);
+            grid.setWall(2, 1, false);
+            for (int y = 0; y < grid.getRows(); y++) {
+                grid.isWall(3, y);
+            }
+            assertTrue(grid.isWall(1, 1));
+            assertFalse(grid.isWall(2, 1));
+        }
+    }
+
+    @Test
+    public void testRaggedRows() {
+        // test that the lazy storage pads short rows like the eager loaders
+        Maze maze = new Maze("examples/direct.maz.txt", "lazy");
+        assertEquals(8, maze.getCols());
+        assertArrayEquals(new int[] { 7, 5 }, maze.getRightOpening());
+        Explorer explorer = new Explorer(maze);
+        explorer.exploreMaze();
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", explorer.getPathSteps())));
+    }
+}
@@ -0,0 +1,45 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapGridTest {
+
+    @Test
+    public void testOffHeapStorageSolvesLikeDense() {
+        // test that the offheap storage (or its packed fallback) gives the same path as dense
+        Explorer dense = new Explorer(new Maze("examples/medium.maz.txt", "dense"), "tremaux");
+        dense.exploreMaze();
+        String expected = String.join("", dense.getPathSteps());
+
+        try (Maze maze = new Maze("examples/medium.maz.txt", "offheap")) {
+            Explorer offHeap = new Explorer(maze, "tremaux");
+            offHeap.exploreMaze();
+            assertEquals(expected, String.join("", offHeap.getPathSteps()));
+        }
+    }
+
+    @Test
+    public void testRowsAndCells() {
+        // test that rows, short lines and single cells round trip
+        GridStore grid = GridFactory.createGrid("offheap", 2, 5);
+        grid.setRow(0, "#  #");
+        grid.setRow(1, "#####");
+        assertTrue(grid.isWall(0, 0));
+        assertFalse(grid.isWall(1, 0));
+        assertFalse(grid.isWall(4, 0));
+        grid.setWall(2, 1, false);
+        assertFalse(grid.isWall(2, 1));
+        assertTrue(grid.isWall(3, 1));
+        grid.close();
+    }
+
+    @Test
+    public void testCloseAfterFailedLoad() {
+        // test that a maze whose file could not be read can still be closed
+        Maze maze = new Maze("examples/does-not-exist.maz.txt", "offheap");
+        assertDoesNotThrow(maze::close);
+    }
+}
@@ -0,0 +1,39 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+public class RowScannerTest {
+
+    @Test
+    public void testScalarMasks() {
+        // test that walls set their bits and short lines end in passages
+        long[] masks = new long[2];
+        new ScalarRowScanner().wallMasks("# #", 70, masks);
+        assertEquals(0b101L, masks[0]);
+        assertEquals(0L, masks[1]);
+    }
+
+    @Test
+    public void testSelectedScannerMatchesScalar() {
+        // test that whichever scanner is in use agrees with the scalar one
+        RowScanner scanner = RowScanners.get();
+        RowScanner scalar = new ScalarRowScanner();
+        Random random = new Random(35);
+        for (int i = 0; i < 200; i++) {
+            int cols = 1 + random.nextInt(300);
+            StringBuilder line = new StringBuilder();
+            int length = random.nextInt(cols + 10);
+            for (int x = 0; x < length; x++) {
+                line.append(random.nextBoolean() ? '#' : ' ');
+            }
+            long[] expected = new long[(cols + 63) >> 6];
+            long[] actual = new long[expected.length];
+            scalar.wallMasks(line, cols, expected);
+            scanner.wallMasks(line.toString(), cols, actual);
+            assertArrayEquals(expected, actual, "cols " + cols + ", line " + line);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ca.mcmaster.se2aa4.mazerunner.grid;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TiledGridTest {
+
+    @Test
+    public void testTiledMatchesDense() {
+        // test that both storages read back the same cells for an example maze
+        Maze dense = new Maze("examples/giant.maz.txt", "dense");
+        Maze tiled = new Maze("examples/giant.maz.txt", "tiled");
+
+        assertEquals(dense.getRows(), tiled.getRows());
+        assertEquals(dense.getCols(), tiled.getCols());
+        for (int y = 0; y < dense.getRows(); y++) {
+            for (int x = 0; x < dense.getCols(); x++) {
+                assertEquals(dense.isWall(x, y), tiled.isWall(x, y), "cell (" + x + ", " + y + ")");
+            }
+        }
+        assertArrayEquals(dense.getLeftOpening(), tiled.getLeftOpening());
+        assertArrayEquals(dense.getRightOpening(), tiled.getRightOpening());
+    }
+
+    @Test
+    public void testUniformTilesStayCompact() {
+        // test that an open field with a single wall only needs one bitset
+        TiledGrid grid = new TiledGrid(200, 300);
+        String openRow = " ".repeat(300);
+        for (int y = 0; y < 200; y++) {
+            grid.setRow(y, openRow);
+        }
+        grid.setWall(70, 130, true);
+
+        assertEquals(1, grid.getMixedTileCount());
+        assertTrue(grid.isWall(70, 130));
+        assertFalse(grid.isWall(71, 130));
+        assertFalse(grid.isWall(299, 199));
+    }
+
+    @Test
+    public void testWallTileBecomesMixed() {
+        // test that a wall tile keeps its walls when a later row opens a passage
+        TiledGrid grid = new TiledGrid(3, 10);
+        grid.setRow(0, "##########");
+        grid.setRow(1, "#        #");
+        grid.setRow(2, "##########");
+
+        assertEquals(1, grid.getMixedTileCount());
+        assertTrue(grid.isWall(5, 0));
+        assertFalse(grid.isWall(5, 1));
+        assertTrue(grid.isWall(9, 1));
+        assertTrue(grid.isWall(5, 2));
+    }
+}
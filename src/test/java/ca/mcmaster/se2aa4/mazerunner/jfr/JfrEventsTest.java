@@ -0,0 +1,97 @@
+package ca.mcmaster.se2aa4.mazerunner.jfr;
+
+import ca.mcmaster.se2aa4.mazerunner.BatchValidator;
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.MazeValidator;
+import ca.mcmaster.se2aa4.mazerunner.Path;
+import ca.mcmaster.se2aa4.mazerunner.PathOptimizer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class JfrEventsTest {
+
+    @Test
+    public void testSolveEmitsEvents() throws IOException {
+        // test that loading, exploring and formatting show up in a recording with their fields
+        java.nio.file.Path dump = Files.createTempFile("maze", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(MazeLoadEvent.class);
+                recording.enable(ExplorationEvent.class);
+                recording.enable(PathFormatEvent.class);
+                recording.start();
+
+                Maze maze = new Maze("examples/small.maz.txt", "packed");
+                Explorer explorer = new Explorer(maze, "righthand");
+                explorer.exploreMaze();
+                new Path(explorer.getPathSteps());
+
+                recording.stop();
+                recording.dump(dump);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            RecordedEvent load = find(events, "ca.mcmaster.se2aa4.mazerunner.MazeLoad");
+            assertEquals("packed", load.getString("storage"));
+            assertEquals(11, load.getInt("rows"));
+
+            RecordedEvent exploration = find(events, "ca.mcmaster.se2aa4.mazerunner.Exploration");
+            assertEquals("Right Hand Rule", exploration.getString("strategy"));
+            assertTrue(exploration.getInt("cellsEntered") > 0);
+            assertTrue(exploration.getInt("moves") >= exploration.getInt("cellsEntered"));
+
+            RecordedEvent format = find(events, "ca.mcmaster.se2aa4.mazerunner.PathFormat");
+            assertEquals(exploration.getInt("moves"), format.getInt("moves"));
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test
+    public void testNoEventClassLoadedWithoutRecording() throws IOException, InterruptedException {
+        // test that solving, formatting and validating in a fresh JVM never loads an event class,
+        // since loading the first one starts the flight recorder; this relies on log4j2.component.properties
+        // turning off log4j's JMX support, whose MBeans bring in jdk.jfr.Event for the JFR diagnostic commands
+        ProcessBuilder builder = new ProcessBuilder(
+                java.nio.file.Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xlog:class+load=info", "-cp", System.getProperty("java.class.path"), SolveWithoutRecording.class.getName());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        String log = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor(), log);
+
+        assertTrue(log.contains(SolveWithoutRecording.class.getName()), "class loading was not logged");
+        Pattern eventClass = Pattern.compile("\\sjdk\\.jfr\\.Event\\s|\\.mazerunner\\.jfr\\.\\w+Event\\s");
+        assertFalse(eventClass.matcher(log).find(), "an event class was loaded without a recording");
+    }
+
+    // runs every step that can emit an event, in its own JVM for testNoEventClassLoadedWithoutRecording
+    public static class SolveWithoutRecording {
+        public static void main(String[] args) {
+            Maze maze = new Maze("examples/small.maz.txt");
+            Explorer explorer = new Explorer(maze, "auto");
+            explorer.exploreMaze();
+            List<String> moves = new PathOptimizer(maze).optimize(explorer.getPathSteps());
+            Path path = new Path(moves);
+            new BatchValidator(maze).validate(path.getFactorizedPath());
+            new MazeValidator(maze, new Explorer(maze), new Path(path.getFactorizedPath()));
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
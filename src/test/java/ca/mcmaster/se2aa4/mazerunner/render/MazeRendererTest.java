@@ -0,0 +1,107 @@
+package ca.mcmaster.se2aa4.mazerunner.render;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.strategy.TremauxStrategy;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+public class MazeRendererTest {
+
+    private static final int WALL = 0x202020;
+    private static final int PASSAGE = 0xffffff;
+    private static final int PATH = 0xe02020;
+
+    @Test
+    public void testPngMatchesMaze() throws IOException {
+        // test that the png decodes to the maze cells with the path drawn over them
+        Maze maze = new Maze("examples/small.maz.txt");
+        Explorer explorer = new Explorer(maze, "righthand");
+        explorer.exploreMaze();
+        List<String> moves = explorer.getPathSteps();
+
+        Path file = Files.createTempFile("maze", ".png");
+        try {
+            MazeRenderer renderer = new MazeRenderer(maze, 2);
+            renderer.setPath(maze.getLeftOpening(), moves);
+            renderer.render(file.toString());
+
+            BufferedImage image = ImageIO.read(file.toFile());
+            assertEquals(maze.getCols() * 2, image.getWidth());
+            assertEquals(maze.getRows() * 2, image.getHeight());
+            for (int y = 0; y < maze.getRows(); y++) {
+                for (int x = 0; x < maze.getCols(); x++) {
+                    int pixel = image.getRGB(x * 2 + 1, y * 2 + 1) & 0xffffff;
+                    if (maze.isWall(x, y)) {
+                        assertEquals(WALL, pixel, "wall at " + x + "," + y);
+                    } else {
+                        assertTrue(pixel == PASSAGE || pixel == PATH, "passage at " + x + "," + y);
+                    }
+                }
+            }
+            int[] start = maze.getLeftOpening();
+            int[] end = maze.getRightOpening();
+            assertEquals(PATH, image.getRGB(start[0] * 2, start[1] * 2) & 0xffffff);
+            assertEquals(PATH, image.getRGB(end[0] * 2, end[1] * 2) & 0xffffff);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testPpmHeaderAndSize() throws IOException {
+        // test that the ppm has its header followed by exactly one rgb triple per pixel
+        Maze maze = new Maze("examples/straight.maz.txt");
+        Path file = Files.createTempFile("maze", ".ppm");
+        try {
+            new MazeRenderer(maze, 3).render(file.toString());
+            byte[] bytes = Files.readAllBytes(file);
+            String header = "P6\n" + maze.getCols() * 3 + " " + maze.getRows() * 3 + "\n255\n";
+            assertEquals(header, new String(bytes, 0, header.length(), StandardCharsets.US_ASCII));
+            assertEquals(header.length() + maze.getCols() * 9 * maze.getRows() * 3, bytes.length);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testHeatmapShadesVisitedPassages() throws IOException {
+        // test that passages tremaux entered are drawn darker than white
+        Maze maze = new Maze("examples/small.maz.txt");
+        Explorer explorer = new Explorer(maze, "tremaux");
+        explorer.exploreMaze();
+        TremauxStrategy tremaux = (TremauxStrategy) explorer.getStrategy();
+        assertTrue(tremaux.getMaxVisits() >= 1);
+
+        File file = Files.createTempFile("maze", ".png").toFile();
+        try {
+            MazeRenderer renderer = new MazeRenderer(maze, 1);
+            renderer.setHeatmap(tremaux::getVisits, tremaux.getMaxVisits());
+            renderer.render(file.getPath());
+
+            BufferedImage image = ImageIO.read(file);
+            int[] start = maze.getLeftOpening();
+            assertNotEquals(PASSAGE, image.getRGB(start[0], start[1]) & 0xffffff);
+            assertEquals(0xff, image.getRGB(start[0], start[1]) & 0xff);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testScaleKeepsHugeMazesAtOnePixel() {
+        // test that the default cell size shrinks to one pixel for large mazes
+        Maze maze = new Maze("examples/small.maz.txt");
+        assertTrue(MazeRenderer.defaultScale(maze) > 1);
+        assertTrue(MazeRenderer.defaultScale(maze) <= MazeRenderer.MAX_SCALE);
+    }
+}
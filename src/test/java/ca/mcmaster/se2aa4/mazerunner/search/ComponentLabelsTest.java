@@ -0,0 +1,150 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ComponentLabelsTest {
+
+    @Test
+    public void testLabelsMatchFloodFill() {
+        // test that banded labels agree with a flood fill on a tall random grid
+        int rows = 400;
+        int cols = 37;
+        GridStore grid = GridFactory.createGrid("packed", rows, cols);
+        Random random = new Random(43);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                grid.setWall(x, y, random.nextInt(100) < 45);
+            }
+        }
+        Maze maze = new Maze(grid);
+        ComponentLabels labels = new ComponentLabels(maze);
+        GridGraph graph = new GridGraph(maze);
+
+        int[] fill = new int[rows * cols];
+        Arrays.fill(fill, -1);
+        int components = 0;
+        int[] queue = new int[rows * cols];
+        for (int cell = 0; cell < fill.length; cell++) {
+            if (!graph.isOpen(cell) || fill[cell] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = cell;
+            fill[cell] = components;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int dir = 0; dir < 4; dir++) {
+                    int next = graph.openNeighbor(current, dir);
+                    if (next != GridGraph.NONE && fill[next] < 0) {
+                        fill[next] = components;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            components++;
+        }
+
+        assertEquals(components, labels.getComponentCount());
+        int[] labelOfFill = new int[components];
+        Arrays.fill(labelOfFill, Integer.MIN_VALUE);
+        for (int cell = 0; cell < fill.length; cell++) {
+            int label = labels.getLabel(cell % cols, cell / cols);
+            if (fill[cell] < 0) {
+                assertEquals(ComponentLabels.WALL, label);
+            } else if (labelOfFill[fill[cell]] == Integer.MIN_VALUE) {
+                labelOfFill[fill[cell]] = label;
+            } else {
+                assertEquals(labelOfFill[fill[cell]], label, "cell " + cell);
+            }
+        }
+    }
+
+    @Test
+    public void testExamplesAreSolvable() {
+        // test that the openings of the example mazes are connected
+        for (String file : new String[] { "examples/small.maz.txt", "examples/giant.maz.txt", "examples/direct.maz.txt" }) {
+            Maze maze = new Maze(file);
+            assertTrue(new ComponentLabels(maze).isConnected(maze.getLeftOpening(), maze.getRightOpening()), file);
+        }
+    }
+
+    @Test
+    public void testUnreachableExitIsRejected() {
+        // test that the explorer refuses a maze whose exit is walled off instead of looping
+        Maze maze = new Maze("examples/straight.maz.txt", "packed");
+        maze.setWall(2, 2, true);
+        Explorer explorer = new Explorer(maze, "righthand");
+        explorer.exploreMaze();
+        assertFalse(explorer.isExitReachable());
+        assertTrue(explorer.getPathSteps().isEmpty());
+    }
+
+    @Test
+    public void testLabelsCachedUntilEdited() {
+        // test that the maze keeps its labels and drops them when a cell changes
+        Maze maze = new Maze("examples/small.maz.txt");
+        ComponentLabels labels = maze.getComponentLabels();
+        assertSame(labels, maze.getComponentLabels());
+
+        maze.setWall(1, 1, true);
+        assertNotSame(labels, maze.getComponentLabels());
+    }
+
+    @Test
+    public void testReloadRefillsLabelStorage() {
+        // test that a reloaded maze builds its labels in the array of the previous grid's labels
+        Maze maze = new Maze("examples/medium.maz.txt");
+        int[] storage = maze.getComponentLabels().getStorage();
+
+        GridStore cutOff = GridFactory.createGrid("dense", 3, 5);
+        cutOff.setRow(0, "#####");
+        cutOff.setRow(1, "  #  ");
+        cutOff.setRow(2, "#####");
+        maze.reload(cutOff);
+        ComponentLabels labels = maze.getComponentLabels();
+
+        assertSame(storage, labels.getStorage());
+        assertEquals(2, labels.getComponentCount());
+        assertFalse(labels.isConnected(maze.getLeftOpening(), maze.getRightOpening()));
+    }
+
+    @Test
+    public void testPrecheckSkippedWhenLabelsOutweighGrid() {
+        // test that a packed room over a million cells is explored without labelling it,
+        // the labels would take 32 times the memory of the grid
+        int size = 1025;
+        Maze packed = new Maze(openRoom("packed", size));
+        assertFalse(packed.canLabelComponents());
+        assertNull(packed.getComponentLabels());
+
+        Explorer explorer = new Explorer(packed);
+        explorer.exploreMaze();
+        assertTrue(explorer.isExitReachable());
+        assertFalse(explorer.getPathSteps().isEmpty());
+
+        // one char per cell is in proportion to the labels
+        assertTrue(new Maze(openRoom("dense", size)).canLabelComponents());
+    }
+
+    // a square room walled in, entered on the second row and left on the second to last
+    private static GridStore openRoom(String storage, int size) {
+        GridStore grid = GridFactory.createGrid(storage, size, size);
+        String border = "#".repeat(size);
+        String inside = "#" + " ".repeat(size - 2) + "#";
+        for (int y = 0; y < size; y++) {
+            grid.setRow(y, y == 0 || y == size - 1 ? border : inside);
+        }
+        grid.setWall(0, 1, false);
+        grid.setWall(size - 1, size - 2, false);
+        return grid;
+    }
+}
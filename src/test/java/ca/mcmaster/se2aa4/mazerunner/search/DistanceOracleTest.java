@@ -0,0 +1,88 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class DistanceOracleTest {
+
+    @Test
+    public void testEntranceToExitMatchesBfs() {
+        // test that the oracle agrees with a plain BFS between the openings
+        Maze maze = new Maze("examples/large.maz.txt");
+        DistanceOracle oracle = new DistanceOracle(maze);
+        DynamicSolver bfs = new DynamicSolver(maze);
+        assertEquals(bfs.getDistance(), oracle.distance(maze.getLeftOpening(), maze.getRightOpening()));
+
+        List<String> path = oracle.findPath(maze.getLeftOpening(), maze.getRightOpening());
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", path)));
+    }
+
+    @Test
+    public void testRandomQueriesAreShortest() {
+        // test random point-to-point queries against BFS from the same source
+        Maze maze = new Maze("examples/medium.maz.txt");
+        DistanceOracle oracle = new DistanceOracle(maze, 4);
+        GridGraph graph = new GridGraph(maze);
+        Random random = new Random(34);
+
+        for (int i = 0; i < 200; i++) {
+            int from = randomOpenCell(graph, random);
+            int to = randomOpenCell(graph, random);
+            int[] distance = bfs(graph, from);
+            int expected = distance[to] == Integer.MAX_VALUE ? -1 : distance[to];
+            assertEquals(expected, oracle.distance(graph.positionOf(from), graph.positionOf(to)), "query " + i);
+
+            List<String> path = oracle.findPath(graph.positionOf(from), graph.positionOf(to));
+            if (expected < 0) {
+                assertNull(path);
+            } else {
+                assertEquals(expected, path.stream().filter("F"::equals).count());
+            }
+        }
+    }
+
+    @Test
+    public void testWallEndpointsAreUnreachable() {
+        // test that a wall cell never gets a path
+        Maze maze = new Maze("examples/small.maz.txt");
+        DistanceOracle oracle = new DistanceOracle(maze);
+        assertEquals(-1, oracle.distance(new int[] { 0, 0 }, maze.getRightOpening()));
+        assertNull(oracle.findPath(maze.getLeftOpening(), new int[] { 0, 0 }));
+    }
+
+    private static int randomOpenCell(GridGraph graph, Random random) {
+        while (true) {
+            int cell = random.nextInt(graph.getCellCount());
+            if (graph.isOpen(cell)) {
+                return cell;
+            }
+        }
+    }
+
+    private static int[] bfs(GridGraph graph, int source) {
+        int[] distance = new int[graph.getCellCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        int[] queue = new int[graph.getCellCount()];
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.openNeighbor(current, dir);
+                if (next != GridGraph.NONE && distance[next] == Integer.MAX_VALUE) {
+                    distance[next] = distance[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,53 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+public class DynamicSolverTest {
+
+    @Test
+    public void testEditsMatchFullSolve() {
+        // test that repaired distances match a fresh solve after every edit
+        Maze maze = new Maze("examples/large.maz.txt", "packed");
+        DynamicSolver solver = new DynamicSolver(maze);
+        Random random = new Random(33);
+
+        for (int i = 0; i < 300; i++) {
+            // keep the border intact so the openings stay where they are
+            int x = 1 + random.nextInt(maze.getCols() - 2);
+            int y = 1 + random.nextInt(maze.getRows() - 2);
+            solver.setWall(x, y, random.nextInt(3) != 0 ? !maze.isWall(x, y) : maze.isWall(x, y));
+
+            DynamicSolver fresh = new DynamicSolver(maze);
+            assertEquals(fresh.getDistance(), solver.getDistance(), "after edit " + i);
+        }
+    }
+
+    @Test
+    public void testPathFollowsEdits() {
+        // test that the updated path validates on the edited maze
+        Maze maze = new Maze("examples/small.maz.txt", "packed");
+        DynamicSolver solver = new DynamicSolver(maze);
+        int before = solver.getDistance();
+        assertTrue(before > 0);
+
+        // open the inner walls of the entrance row and check the path still holds
+        for (int x = 1; x < maze.getCols() - 1; x++) {
+            solver.setWall(x, maze.getLeftOpening()[1], false);
+        }
+        assertTrue(solver.getDistance() <= before);
+        assertEquals(new DynamicSolver(maze).getDistance(), solver.getDistance());
+        Explorer explorer = new Explorer(maze);
+        assertTrue(explorer.solveMazeFromInput(String.join("", solver.getPath())));
+
+        // wall the entrance off completely
+        int[] start = maze.getLeftOpening();
+        solver.setWall(start[0], start[1], true);
+        assertEquals(-1, solver.getDistance());
+        assertTrue(solver.getPath().isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import ca.mcmaster.se2aa4.mazerunner.strategy.ExternalMemoryStrategy;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ExternalBfsTest {
+
+    @Test
+    public void testShortestPathMatchesOracle() throws IOException {
+        // test that the disk based search finds paths as short as the in-memory one
+        Maze maze = new Maze("examples/medium.maz.txt");
+        Path dir = Files.createTempDirectory("bfs-test");
+        try (ExternalBfs search = new ExternalBfs(maze, dir, 1 << 20)) {
+            long[] cells = search.findPath(maze.getLeftOpening(), maze.getRightOpening());
+            DistanceOracle oracle = new DistanceOracle(maze);
+            assertEquals(oracle.distance(maze.getLeftOpening(), maze.getRightOpening()), cells.length - 1);
+            assertEquals(cells.length - 1, search.getLevels());
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    // a single corridor winding through every other row, so the search crosses all pages of marks
+    private static Maze serpentine(int rows, int cols) {
+        GridStore grid = GridFactory.createGrid("packed", rows, cols);
+        for (int y = 0; y < rows; y++) {
+            char[] row = new char[cols];
+            java.util.Arrays.fill(row, '#');
+            if (y % 2 == 1) {
+                java.util.Arrays.fill(row, 1, cols - 1, ' ');
+                if (y == 1) {
+                    row[0] = ' ';
+                }
+                if (y == rows - 2) {
+                    row[cols - 1] = ' ';
+                }
+            } else if (y > 0 && y < rows - 1) {
+                row[(y / 2) % 2 == 1 ? cols - 2 : 1] = ' ';
+            }
+            grid.setRow(y, new String(row));
+        }
+        return new Maze(grid);
+    }
+
+    @Test
+    public void testPagesSwapUnderSmallCap() throws IOException {
+        // test that a cap of two pages still solves a maze whose marks span more pages
+        Maze maze = serpentine(401, 801);
+        assertTrue((long) maze.getRows() * maze.getCols() > 4L * PagedMarks.PAGE_BYTES);
+        Path dir = Files.createTempDirectory("bfs-test");
+        try (ExternalBfs search = new ExternalBfs(maze, dir, 0)) {
+            long[] cells = search.findPath(maze.getLeftOpening(), maze.getRightOpening());
+            assertNotNull(cells);
+            assertTrue(search.getMarks().getPageWrites() > 0);
+            DistanceOracle oracle = new DistanceOracle(maze);
+            assertEquals(oracle.distance(maze.getLeftOpening(), maze.getRightOpening()), cells.length - 1);
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+        assertFalse(Files.exists(dir));
+    }
+
+    @Test
+    public void testPagedMarksSurviveEviction() throws IOException {
+        // test that marks written to evicted pages read back unchanged
+        Path file = Files.createTempFile("marks", ".bin");
+        Files.delete(file);
+        try (PagedMarks marks = new PagedMarks(file, 1)) {
+            long stride = PagedMarks.PAGE_BYTES * 2L + 1;
+            for (int i = 0; i < 10; i++) {
+                marks.set(i * stride, i + 1);
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i + 1, marks.get(i * stride));
+                assertEquals(0, marks.get(i * stride + 1));
+            }
+            assertTrue(marks.getPageWrites() > 0);
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testStrategySolvesThroughExplorer() throws IOException {
+        // test that the moves of the external strategy validate against the maze
+        Maze maze = new Maze("examples/small.maz.txt");
+        Path dir = Files.createTempDirectory("bfs-test");
+        try {
+            Explorer explorer = new Explorer(maze, new ExternalMemoryStrategy(dir, 1 << 20));
+            explorer.exploreMaze();
+            List<String> moves = explorer.getPathSteps();
+            assertFalse(moves.isEmpty());
+            assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", moves)));
+            try (var files = Files.list(dir)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testUnreachableExitThroughExplorer() throws IOException {
+        // test that the external strategy reports a cut off exit instead of an empty path
+        GridStore grid = GridFactory.createGrid("dense", 3, 5);
+        grid.setRow(0, "#####");
+        grid.setRow(1, "  #  ");
+        grid.setRow(2, "#####");
+        Maze maze = new Maze(grid);
+        Path dir = Files.createTempDirectory("bfs-test");
+        try {
+            Explorer explorer = new Explorer(maze, new ExternalMemoryStrategy(dir, 1 << 20));
+            explorer.exploreMaze();
+            assertFalse(explorer.isExitReachable());
+            assertTrue(explorer.getPathSteps().isEmpty());
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+}
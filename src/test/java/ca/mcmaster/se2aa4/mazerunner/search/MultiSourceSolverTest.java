@@ -0,0 +1,63 @@
+package ca.mcmaster.se2aa4.mazerunner.search;
+
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class MultiSourceSolverTest {
+
+    // two entrances and two exits, the closest pair is on the bottom row
+    private static final String[] ROWS = {
+        "#######",
+        "      #",
+        "# ### #",
+        "#   #  ",
+        "#####  ",
+        "       ",
+        "#######",
+    };
+
+    private static Maze build() {
+        GridStore grid = GridFactory.createGrid("dense", ROWS.length, ROWS[0].length());
+        for (int y = 0; y < ROWS.length; y++) {
+            grid.setRow(y, ROWS[y]);
+        }
+        return new Maze(grid);
+    }
+
+    @Test
+    public void testAllOpeningsListed() {
+        // test that every border opening is listed, not only the last one
+        Maze maze = build();
+        assertEquals(2, maze.getLeftOpenings().size());
+        assertEquals(3, maze.getRightOpenings().size());
+        assertArrayEquals(new int[] { 0, 1 }, maze.getLeftOpenings().get(0));
+        assertArrayEquals(new int[] { 0, 5 }, maze.getLeftOpening());
+    }
+
+    @Test
+    public void testBestPairIsFound() {
+        // test that the single search picks the closest entrance and exit
+        Maze maze = build();
+        MultiSourceSolver.Result result = new MultiSourceSolver(maze).solve();
+        assertArrayEquals(new int[] { 0, 5 }, result.getEntrance());
+        assertArrayEquals(new int[] { 6, 5 }, result.getExit());
+        assertEquals(6, result.getDistance());
+        assertEquals(List.of("F", "F", "F", "F", "F", "F"), result.getMoves());
+
+        // restricted to the upper entrance the route goes through the upper exit
+        result = new MultiSourceSolver(maze).solve(List.of(new int[] { 0, 1 }), maze.getRightOpenings());
+        assertArrayEquals(new int[] { 6, 3 }, result.getExit());
+    }
+
+    @Test
+    public void testUnreachableTargets() {
+        // test that no result comes back when the targets are cut off
+        Maze maze = build();
+        assertNull(new MultiSourceSolver(maze).solve(maze.getLeftOpenings(), List.of(new int[] { 3, 2 })));
+    }
+}
@@ -0,0 +1,71 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class AutoStrategyTest {
+
+    @Test
+    public void testFeatures() {
+        // test the measures of a small corridor maze
+        MazeFeatures features = MazeFeatures.of(new Maze("examples/straight.maz.txt"));
+        assertEquals(5, features.getRows());
+        assertEquals(0.2, features.getOpenDensity(), 1e-9);
+        assertEquals(0.0, features.getJunctionRatio(), 1e-9);
+        assertEquals(0.4, features.getDeadEndRatio(), 1e-9); // the two openings
+        assertEquals(25.0, features.getFeature("cells"), 1e-9);
+    }
+
+    @Test
+    public void testFirstMatchingRuleWins() throws IOException {
+        // test rule order, conjunctions and the fallback
+        StrategyRules rules = parse("# comment\ncells > 200 and density < 0.5 -> tremaux\ncells > 200 -> race\n-> righthand\n");
+        assertEquals("righthand", rules.choose(MazeFeatures.of(new Maze("examples/small.maz.txt"))));
+        assertEquals("tremaux", rules.choose(MazeFeatures.of(new Maze("examples/medium.maz.txt"))));
+    }
+
+    @Test
+    public void testMalformedRulesAreRejected() {
+        // test that unknown features, operators and strategies are reported
+        assertThrows(IllegalArgumentException.class, () -> parse("width > 3 -> righthand"));
+        assertThrows(IllegalArgumentException.class, () -> parse("cells = 3 -> righthand"));
+        assertThrows(IllegalArgumentException.class, () -> parse("cells > 3 -> bfs"));
+        assertThrows(IllegalArgumentException.class, () -> parse("cells > 3 righthand"));
+    }
+
+    @Test
+    public void testShippedRulesSolve() {
+        // test that the shipped rules load and their choice solves the maze
+        AutoStrategy auto = new AutoStrategy();
+        Maze maze = new Maze("examples/giant.maz.txt");
+        Explorer explorer = new Explorer(maze, auto);
+        explorer.exploreMaze();
+        assertEquals("race", auto.choose(maze));
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", explorer.getPathSteps())));
+
+        assertEquals("righthand", auto.choose(new Maze("examples/tiny.maz.txt")));
+    }
+
+    @Test
+    public void testEverySelectableNameIsAccepted() {
+        // test that the rules accept every strategy the factory lets them pick, and not auto itself
+        for (String name : StrategyFactory.getSelectableNames()) {
+            assertDoesNotThrow(() -> parse("cells > 3 -> " + name));
+            // unknown names fall back to the right-hand rule, so anything else must build its own strategy
+            if (!"righthand".equals(name)) {
+                assertFalse(StrategyFactory.createStrategy(name) instanceof RightHandStrategy, name);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> parse("cells > 3 -> auto"));
+    }
+
+    private static StrategyRules parse(String text) throws IOException {
+        return StrategyRules.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,106 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckpointLogTest {
+
+    // explores with a checkpoint every few moves, then cuts the log inside its last record like a crash would
+    private static List<String> exploreAndCrash(ResumableStrategy strategy, Maze maze, Path file) throws IOException {
+        List<String> moves;
+        try (CheckpointLog log = CheckpointLog.open(file.toString(), maze, maze.getLeftOpening(), strategy.getName(), 7)) {
+            strategy.setCheckpoint(log);
+            moves = new ArrayList<>(strategy.explore(maze, maze.getLeftOpening(), maze.getRightOpening()));
+            strategy.setCheckpoint(null);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        return moves;
+    }
+
+    private static void assertResumesToSamePath(ResumableStrategy strategy, String mazeFile) throws IOException {
+        Maze maze = new Maze(mazeFile);
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            List<String> full = exploreAndCrash(strategy, maze, file);
+
+            try (CheckpointLog log = CheckpointLog.open(file.toString(), maze, maze.getLeftOpening(), strategy.getName(), 7)) {
+                int resumed = log.getResumedMoves().size();
+                assertTrue(resumed > 0 && resumed < full.size(), "resumed " + resumed + " of " + full.size());
+                assertEquals(full.subList(0, resumed), log.getResumedMoves());
+
+                strategy.setCheckpoint(log);
+                List<String> moves = strategy.explore(maze, maze.getLeftOpening(), maze.getRightOpening());
+                strategy.setCheckpoint(null);
+                assertEquals(full, moves);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTremauxResumesFromLastGoodRecord() throws IOException {
+        // test that replaying the saved moves restores the visit marks, so tremaux continues the same way
+        assertResumesToSamePath(new TremauxStrategy(), "examples/small.maz.txt");
+    }
+
+    @Test
+    public void testRightHandResumesFromLastGoodRecord() throws IOException {
+        // test that the right-hand rule continues from the saved position and heading
+        assertResumesToSamePath(new RightHandStrategy(), "examples/medium.maz.txt");
+    }
+
+    @Test
+    public void testOtherMazeStartsOver() throws IOException {
+        // test that a checkpoint is not resumed on a different maze or by a different strategy
+        Maze small = new Maze("examples/small.maz.txt");
+        Maze straight = new Maze("examples/straight.maz.txt");
+        assertNotEquals(small.contentHash(), straight.contentHash());
+        assertEquals(small.contentHash(), new Maze("examples/small.maz.txt", "packed").contentHash());
+
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            try (CheckpointLog log = CheckpointLog.open(file.toString(), small, small.getLeftOpening(), "Tremaux", 1)) {
+                log.save(List.of("F", "R", "F", "L", "F"));
+            }
+            try (CheckpointLog log = CheckpointLog.open(file.toString(), small, small.getLeftOpening(), "Tremaux", 1)) {
+                assertEquals(List.of("F", "R", "F", "L", "F"), log.getResumedMoves());
+            }
+            try (CheckpointLog log = CheckpointLog.open(file.toString(), small, small.getLeftOpening(), "Right Hand Rule", 1)) {
+                assertTrue(log.getResumedMoves().isEmpty());
+            }
+            try (CheckpointLog log = CheckpointLog.open(file.toString(), straight, straight.getLeftOpening(), "Tremaux", 1)) {
+                assertTrue(log.getResumedMoves().isEmpty());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testFinishedExplorationRemovesCheckpoint() throws IOException {
+        // test that the explorer deletes the checkpoint once the maze is solved
+        Maze maze = new Maze("examples/small.maz.txt");
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            Explorer explorer = new Explorer(maze, "tremaux");
+            explorer.setCheckpoint(CheckpointLog.open(file.toString(), maze, maze.getLeftOpening(), "Tremaux", 4));
+            explorer.exploreMaze();
+            assertFalse(explorer.getPathSteps().isEmpty());
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridFactory;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class RaceStrategyTest {
+
+    @Test
+    public void testFirstResultSolves() {
+        // test that the first path of a race validates
+        Maze maze = new Maze("examples/huge.maz.txt");
+        List<String> moves = new RaceStrategy(false).explore(maze, maze.getLeftOpening(), maze.getRightOpening());
+        assertFalse(moves.isEmpty());
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", moves)));
+    }
+
+    @Test
+    public void testBestResultIsShortest() {
+        // test that race-best keeps the shorter of the two strategies' paths
+        Maze maze = new Maze("examples/giant.maz.txt");
+        int shortest = Integer.MAX_VALUE;
+        for (String name : StrategyFactory.getStrategyNames()) {
+            Explorer explorer = new Explorer(maze, name);
+            explorer.exploreMaze();
+            shortest = Math.min(shortest, explorer.getPathSteps().size());
+        }
+        List<String> moves = new RaceStrategy(true).explore(maze, maze.getLeftOpening(), maze.getRightOpening());
+        assertEquals(shortest, moves.size());
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", moves)));
+    }
+
+    @Test
+    public void testFirstHasNoDeadline() {
+        // test that the first-wins race ignores the deadline, which only race-best uses
+        Maze maze = new Maze("examples/small.maz.txt");
+        List<String> moves = new RaceStrategy(false, Duration.ZERO).explore(maze, maze.getLeftOpening(),
+                maze.getRightOpening());
+        assertTrue(new Explorer(maze).solveMazeFromInput(String.join("", moves)));
+    }
+
+    @Test
+    public void testMissedDeadlineFailsRace() {
+        // test that a race-best race with no path by the deadline throws instead of returning no moves
+        // (the exit is cut off, so both strategies walk until they are cancelled)
+        GridStore grid = GridFactory.createGrid("dense", 3, 5);
+        grid.setRow(0, "#####");
+        grid.setRow(1, "  #  ");
+        grid.setRow(2, "#####");
+        Maze maze = new Maze(grid);
+        RaceStrategy race = new RaceStrategy(true, Duration.ofMillis(100));
+        assertThrows(ExplorationFailedException.class,
+                () -> race.explore(maze, maze.getLeftOpening(), maze.getRightOpening()));
+    }
+
+    @Test
+    public void testFailedExplorationIsNotSolved() {
+        // test that Explorer reports a failed strategy as unsolved rather than solved with an empty path
+        Maze maze = new Maze("examples/small.maz.txt");
+        Explorer explorer = new Explorer(maze, new ExplorationStrategy() {
+            @Override
+            public List<String> explore(Maze maze, int[] startPos, int[] endPos) {
+                throw new ExplorationFailedException("no strategy found a path within 0 ms");
+            }
+
+            @Override
+            public String getName() {
+                return "Failing";
+            }
+        });
+        explorer.exploreMaze();
+        assertTrue(explorer.isExitReachable());
+        assertFalse(explorer.isSolved());
+        assertEquals("no strategy found a path within 0 ms", explorer.getFailure());
+        assertTrue(explorer.getPathSteps().isEmpty());
+    }
+
+    @Test
+    public void testInterruptedStrategyStops() {
+        // test that a strategy gives up when its thread is interrupted
+        Maze maze = new Maze("examples/small.maz.txt");
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                    () -> new RightHandStrategy().explore(maze, maze.getLeftOpening(), maze.getRightOpening()));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
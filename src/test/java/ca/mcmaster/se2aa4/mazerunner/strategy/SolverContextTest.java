@@ -0,0 +1,107 @@
+package ca.mcmaster.se2aa4.mazerunner.strategy;
+
+import ca.mcmaster.se2aa4.mazerunner.Explorer;
+import ca.mcmaster.se2aa4.mazerunner.Maze;
+import ca.mcmaster.se2aa4.mazerunner.grid.GridStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SolverContextTest {
+
+    @Test
+    public void testVisitsResetBetweenSolves() {
+        // test that bumping the epoch forgets the previous solve's visits
+        SolverContext context = new SolverContext();
+        context.begin(10);
+        context.addVisit(3);
+        assertEquals(2, context.addVisit(3));
+        assertTrue(context.isVisited(3));
+
+        context.begin(10);
+        assertFalse(context.isVisited(3));
+        assertEquals(0, context.getVisits(3));
+        assertEquals(1, context.addVisit(3));
+    }
+
+    @Test
+    public void testReusedStrategyGivesSameMoves() {
+        // test that a strategy reused across mazes matches a fresh instance
+        Maze medium = new Maze("examples/medium.maz.txt");
+        Maze small = new Maze("examples/small.maz.txt");
+        ExplorationStrategy reused = SolverContext.current().getStrategy("tremaux");
+
+        reused.explore(medium, medium.getLeftOpening(), medium.getRightOpening());
+        List<String> reusedMoves = new ArrayList<>(reused.explore(small, small.getLeftOpening(),
+                small.getRightOpening()));
+        List<String> freshMoves = new TremauxStrategy().explore(small, small.getLeftOpening(),
+                small.getRightOpening());
+
+        assertEquals(freshMoves, reusedMoves);
+    }
+
+    @Test
+    public void testExplorersKeepTheirOwnMoves() {
+        // test that a second exploration on the same thread leaves the first explorer's moves alone
+        Explorer first = new Explorer(new Maze("examples/small.maz.txt"), "tremaux");
+        first.exploreMaze();
+        List<String> before = new ArrayList<>(first.getPathSteps());
+
+        new Explorer(new Maze("examples/medium.maz.txt"), "tremaux").exploreMaze();
+
+        assertEquals(before, first.getPathSteps());
+    }
+
+    @Test
+    public void testTrimDropsOnlyLargeMarks() {
+        // test that trim keeps marks up to the cap and drops bigger ones
+        SolverContext context = new SolverContext();
+        context.begin(100);
+        context.trim();
+        assertEquals(100, context.getCapacity());
+
+        context.begin(SolverContext.RETAINED_CELLS + 1);
+        context.addVisit(SolverContext.RETAINED_CELLS);
+        context.trim();
+        assertEquals(0, context.getCapacity());
+
+        context.begin(10);
+        assertFalse(context.isVisited(3));
+        assertEquals(1, context.addVisit(3));
+    }
+
+    @Test
+    public void testHugeMazeFailsBeforeIndexing() {
+        // test that a maze with more cells than an int can index is refused instead of wrapping around
+        // an empty room that is never stored, only its size matters
+        Maze huge = new Maze(new GridStore() {
+            @Override
+            public boolean isWall(int x, int y) {
+                return false;
+            }
+
+            @Override
+            public void setWall(int x, int y, boolean wall) {
+            }
+
+            @Override
+            public int getRows() {
+                return 70_000;
+            }
+
+            @Override
+            public int getCols() {
+                return 70_000;
+            }
+
+            @Override
+            public String getName() {
+                return "unstored";
+            }
+        });
+        assertThrows(ArithmeticException.class,
+                () -> new TremauxStrategy().explore(huge, new int[] { 0, 1 }, new int[] { 69_999, 1 }));
+    }
+}